@@ -0,0 +1,78 @@
+package com.hostel.hostelfinder;
+
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.Hostel;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory data sets shared by the benchmarks, so runs before and after a change
+ * measure the same input.
+ */
+public final class BenchmarkFixtures {
+
+    public static final List<String> FACILITIES = List.of(
+            "wifi", "ac", "laundry", "parking", "gym", "mess", "hot water", "cctv",
+            "power backup", "housekeeping", "study room", "lift");
+
+    public static final int HOSTELS_PER_PINCODE = 50;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static String pincode(int index) {
+        return String.valueOf(500000 + index);
+    }
+
+    public static List<Hostel> hostels(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Hostel> hostels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Hostel hostel = new Hostel();
+            hostel.setId((long) i + 1);
+            hostel.setName("Hostel " + i);
+            hostel.setDescription("Clean rooms close to campus with friendly staff, hostel number " + i);
+            hostel.setAddress(i + " Main Road, Sector " + (i % 40) + ", Hyderabad");
+            hostel.setPincode(pincode(i / HOSTELS_PER_PINCODE));
+            hostel.setPricePerNight(BigDecimal.valueOf(300 + random.nextInt(2700), 0));
+            hostel.setTotalRooms(20 + random.nextInt(80));
+            hostel.setAvailableRooms(random.nextInt(hostel.getTotalRooms() + 1));
+            hostel.setRating(1 + random.nextInt(40) / 10.0);
+            hostel.setTotalReviews(random.nextInt(500));
+            List<String> facilities = new ArrayList<>();
+            for (String facility : FACILITIES) {
+                if (random.nextInt(3) > 0) {
+                    facilities.add(facility);
+                }
+            }
+            hostel.setFacilities(facilities);
+            hostel.setImages(new ArrayList<>(List.of("https://img.example/" + i + "/1.jpg", "https://img.example/" + i + "/2.jpg")));
+            hostels.add(hostel);
+        }
+        return hostels;
+    }
+
+    /**
+     * Bookings for one hostel spread over the next year, each one to seven nights long.
+     */
+    public static List<Booking> bookings(Hostel hostel, int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate today = LocalDate.now();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i + 1);
+            booking.setHostel(hostel);
+            booking.setCheckInDate(today.plusDays(random.nextInt(358)));
+            booking.setCheckOutDate(booking.getCheckInDate().plusDays(1 + random.nextInt(7)));
+            booking.setNumberOfRooms(1 + random.nextInt(3));
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
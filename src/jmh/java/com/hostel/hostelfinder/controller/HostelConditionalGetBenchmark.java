@@ -0,0 +1,120 @@
+package com.hostel.hostelfinder.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.hostel.hostelfinder.BenchmarkFixtures;
+import com.hostel.hostelfinder.cache.CatalogVersion;
+import com.hostel.hostelfinder.dto.CursorPageDTO;
+import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.service.HostelService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Repeat requests through the MVC stack with and without a matching If-None-Match. The service
+ * hands back ready DTOs, as the hostel cache does when warm, so the difference is what a 304
+ * saves in serialization and response bytes; a real 304 on the list endpoints also skips the
+ * key query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class HostelConditionalGetBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private MockMvc mockMvc;
+    private String hostelETag;
+    private String pageETag;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Logback defaults to DEBUG without a config file, which would dominate per-request cost
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        LocalDateTime now = LocalDateTime.now();
+        List<HostelDTO> dtos = BenchmarkFixtures.hostels(pageSize).stream()
+                .map(hostel -> toDTO(hostel, now))
+                .collect(Collectors.toList());
+
+        // Stub-only, so the mock keeps no invocation history across millions of calls
+        HostelService hostelService = mock(HostelService.class, withSettings().stubOnly());
+        when(hostelService.getAllHostels(any(), any(), anyInt())).thenReturn(new CursorPageDTO<>(dtos, "next"));
+        when(hostelService.getHostel(anyLong())).thenReturn(dtos.get(0));
+
+        HostelController controller = new HostelController(hostelService, null, new CatalogVersion(), null);
+        ReflectionTestUtils.setField(controller, "hostelMaxAge", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(controller, "hostelListMaxAge", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(controller, "searchMaxAge", Duration.ZERO);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        hostelETag = hostelFull().getHeader(HttpHeaders.ETAG);
+        pageETag = pageFull().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse hostelFull() throws Exception {
+        return mockMvc.perform(get("/api/hostels/1")).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse hostelNotModified() throws Exception {
+        return mockMvc.perform(get("/api/hostels/1").header(HttpHeaders.IF_NONE_MATCH, hostelETag))
+                .andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse pageFull() throws Exception {
+        return mockMvc.perform(get("/api/hostels").param("size", String.valueOf(pageSize)))
+                .andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse pageNotModified() throws Exception {
+        return mockMvc.perform(get("/api/hostels").param("size", String.valueOf(pageSize))
+                        .header(HttpHeaders.IF_NONE_MATCH, pageETag))
+                .andReturn().getResponse();
+    }
+
+    private static HostelDTO toDTO(Hostel hostel, LocalDateTime updatedAt) {
+        HostelDTO dto = new HostelDTO();
+        dto.setId(hostel.getId());
+        dto.setName(hostel.getName());
+        dto.setDescription(hostel.getDescription());
+        dto.setAddress(hostel.getAddress());
+        dto.setPincode(hostel.getPincode());
+        dto.setPricePerNight(hostel.getPricePerNight());
+        dto.setTotalRooms(hostel.getTotalRooms());
+        dto.setAvailableRooms(hostel.getAvailableRooms());
+        dto.setFacilities(hostel.getFacilities());
+        dto.setImages(hostel.getImages());
+        dto.setRating(hostel.getRating());
+        dto.setTotalReviews(hostel.getTotalReviews());
+        dto.setVersion(3L);
+        dto.setUpdatedAt(updatedAt);
+        return dto;
+    }
+}
@@ -0,0 +1,77 @@
+package com.hostel.hostelfinder.inventory;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Many threads booking the same hostel at once. Throughput is booking attempts per second;
+ * after every iteration the occupancy is checked against the successful reservations so any
+ * overbooking fails the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingContentionBenchmark {
+
+    private static final Long HOSTEL_ID = 1L;
+    private static final int TOTAL_ROOMS = 200;
+    private static final int NIGHTS = 30;
+
+    private RoomInventory inventory;
+    private AtomicIntegerArray accepted;
+    private LocalDate today;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        inventory = new RoomInventory(null, null, 365);
+        accepted = new AtomicIntegerArray(NIGHTS);
+        today = LocalDate.now();
+    }
+
+    @TearDown(Level.Iteration)
+    public void verifyNoOverbooking() {
+        for (int night = 0; night < NIGHTS; night++) {
+            LocalDate date = today.plusDays(night);
+            int booked = inventory.peakBooked(HOSTEL_ID, date, date.plusDays(1));
+            if (booked > TOTAL_ROOMS || booked != accepted.get(night)) {
+                throw new IllegalStateException("Night " + night + " holds " + booked + " rooms, "
+                        + accepted.get(night) + " accepted, capacity " + TOTAL_ROOMS);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean oneThread() {
+        return book();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean eightThreads() {
+        return book();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean sixtyFourThreads() {
+        return book();
+    }
+
+    private boolean book() {
+        int night = ThreadLocalRandom.current().nextInt(NIGHTS);
+        LocalDate checkIn = today.plusDays(night);
+        boolean reserved = inventory.tryReserve(HOSTEL_ID, TOTAL_ROOMS, checkIn, checkIn.plusDays(1), 1);
+        if (reserved) {
+            accepted.incrementAndGet(night);
+        }
+        return reserved;
+    }
+}
@@ -0,0 +1,83 @@
+package com.hostel.hostelfinder.inventory;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict detection for one hostel with many stays: the interval index against a linear scan
+ * over every booking, for both the overlap sum the database computes and the exact busiest night.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingOverlapBenchmark {
+
+    private static final int SPAN_DAYS = 730;
+
+    @Param({"10000", "100000"})
+    public int bookings;
+
+    private long[] starts;
+    private long[] ends;
+    private int[] rooms;
+    private BookingIntervals intervals;
+    private long checkIn;
+    private long checkOut;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        starts = new long[bookings];
+        ends = new long[bookings];
+        rooms = new int[bookings];
+        for (int i = 0; i < bookings; i++) {
+            starts[i] = random.nextInt(SPAN_DAYS);
+            ends[i] = starts[i] + 1 + random.nextInt(14);
+            rooms[i] = 1 + random.nextInt(3);
+        }
+        intervals = BookingIntervals.of(starts.clone(), ends.clone(), rooms.clone());
+        checkIn = SPAN_DAYS / 2;
+        checkOut = checkIn + 5;
+    }
+
+    @Benchmark
+    public long scanSum() {
+        long sum = 0;
+        for (int i = 0; i < bookings; i++) {
+            if (starts[i] < checkOut && ends[i] > checkIn) {
+                sum += rooms[i];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long indexSum() {
+        return intervals.sumOverlapping(checkIn, checkOut);
+    }
+
+    @Benchmark
+    public int scanPeak() {
+        int[] nights = new int[(int) (checkOut - checkIn)];
+        for (int i = 0; i < bookings; i++) {
+            for (long day = Math.max(starts[i], checkIn); day < Math.min(ends[i], checkOut); day++) {
+                nights[(int) (day - checkIn)] += rooms[i];
+            }
+        }
+        int peak = 0;
+        for (int booked : nights) {
+            peak = Math.max(peak, booked);
+        }
+        return peak;
+    }
+
+    @Benchmark
+    public int indexPeak() {
+        return intervals.peak(checkIn, checkOut);
+    }
+}
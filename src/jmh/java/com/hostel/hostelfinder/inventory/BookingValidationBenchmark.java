@@ -0,0 +1,62 @@
+package com.hostel.hostelfinder.inventory;
+
+import com.hostel.hostelfinder.BenchmarkFixtures;
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.Hostel;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rooms already taken for a stay: summing the overlapping bookings as validateBooking used to,
+ * against the per-night occupancy array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingValidationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int bookings;
+
+    private List<Booking> rows;
+    private RoomInventory inventory;
+    private Long hostelId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        Hostel hostel = BenchmarkFixtures.hostels(1).get(0);
+        hostelId = hostel.getId();
+        rows = BenchmarkFixtures.bookings(hostel, bookings);
+        inventory = new RoomInventory(null, null, 365);
+        rows.forEach(booking -> inventory.reserve(hostelId, booking.getCheckInDate(),
+                booking.getCheckOutDate(), booking.getNumberOfRooms()));
+        checkIn = LocalDate.now().plusDays(100);
+        checkOut = checkIn.plusDays(5);
+    }
+
+    @Benchmark
+    public int overlapSummation() {
+        return rows.stream()
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED)
+                .filter(booking -> isBetween(booking.getCheckInDate()) || isBetween(booking.getCheckOutDate()))
+                .mapToInt(Booking::getNumberOfRooms)
+                .sum();
+    }
+
+    @Benchmark
+    public int occupancyArray() {
+        return inventory.peakBooked(hostelId, checkIn, checkOut);
+    }
+
+    private boolean isBetween(LocalDate date) {
+        return !date.isBefore(checkIn) && !date.isAfter(checkOut);
+    }
+}
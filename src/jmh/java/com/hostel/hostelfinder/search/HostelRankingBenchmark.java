@@ -0,0 +1,78 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.BenchmarkFixtures;
+import com.hostel.hostelfinder.entity.Hostel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Best 20 hostels of a pincode: scoring and sorting every hostel of the pincode per request,
+ * against reading the head of the ranked set. {@code rescore} is what each booking or review
+ * adds through the synchronizer. {@code perPincode} sets the candidate count per pincode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HostelRankingBenchmark {
+
+    private static final int TOTAL_HOSTELS = 200_000;
+
+    @Param({"50", "5000"})
+    public int perPincode;
+
+    private final HostelScorer scorer = new HostelScorer(0.3, 0.4, 0.2, 0.1, 1000, 500);
+
+    private List<Hostel> all;
+    private Map<String, List<Hostel>> rowsByPincode;
+    private HostelRankingIndex index;
+    private String[] pincodes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        all = BenchmarkFixtures.hostels(TOTAL_HOSTELS);
+        for (int i = 0; i < all.size(); i++) {
+            all.get(i).setPincode(BenchmarkFixtures.pincode(i / perPincode));
+        }
+        rowsByPincode = all.stream().collect(Collectors.groupingBy(Hostel::getPincode));
+        index = new HostelRankingIndex(scorer);
+        all.forEach(index::upsert);
+        index.rebuilt();
+        pincodes = rowsByPincode.keySet().toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void sortPerRequest(Blackhole blackhole) {
+        blackhole.consume(rowsByPincode.get(nextPincode()).stream()
+                .sorted(Comparator.comparingDouble(scorer::score).reversed().thenComparing(Hostel::getId))
+                .limit(20)
+                .map(Hostel::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public void rankedSet(Blackhole blackhole) {
+        blackhole.consume(index.top(nextPincode(), false, 20));
+    }
+
+    @Benchmark
+    public void rescore() {
+        Hostel hostel = all.get(next++ % all.size());
+        hostel.setAvailableRooms(hostel.getAvailableRooms() ^ 1);
+        index.upsert(hostel);
+    }
+
+    private String nextPincode() {
+        next = (next + 1) % pincodes.length;
+        return pincodes[next];
+    }
+}
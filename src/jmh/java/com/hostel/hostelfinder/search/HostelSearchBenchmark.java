@@ -0,0 +1,65 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.BenchmarkFixtures;
+import com.hostel.hostelfinder.entity.Hostel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Location + price + facility search: the original per-hostel containsAll filter over the
+ * rows returned for a pincode, against the bitset index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HostelSearchBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int hostels;
+
+    private final BigDecimal maxPrice = BigDecimal.valueOf(1500);
+    private final List<String> facilities = List.of("wifi", "ac", "laundry");
+
+    private Map<String, List<Hostel>> rowsByPincode;
+    private HostelSearchIndex index;
+    private String[] pincodes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Hostel> all = BenchmarkFixtures.hostels(hostels);
+        rowsByPincode = all.stream().collect(Collectors.groupingBy(Hostel::getPincode));
+        index = new HostelSearchIndex();
+        all.forEach(index::upsert);
+        index.rebuilt();
+        pincodes = rowsByPincode.keySet().toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void legacyFilter(Blackhole blackhole) {
+        List<Hostel> rows = rowsByPincode.get(nextPincode());
+        blackhole.consume(rows.stream()
+                .filter(hostel -> hostel.getPricePerNight().compareTo(maxPrice) <= 0 && hostel.getAvailableRooms() > 0)
+                .filter(hostel -> hostel.getFacilities().containsAll(facilities))
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public void bitsetIndex(Blackhole blackhole) {
+        blackhole.consume(index.search(nextPincode(), maxPrice, facilities));
+    }
+
+    private String nextPincode() {
+        next = (next + 1) % pincodes.length;
+        return pincodes[next];
+    }
+}
@@ -0,0 +1,78 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.BenchmarkFixtures;
+import com.hostel.hostelfinder.entity.Hostel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keyword search with a price cap: a scan matching every field with contains, which is what a
+ * LIKE '%...%' query does row by row (every row, since nothing ranks the matches), against the
+ * BM25 inverted index returning the top 20.
+ * {@code availabilityUpsert} is the cost every booking adds through the synchronizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HostelTextSearchBenchmark {
+
+    @Param({"1000", "100000"})
+    public int hostels;
+
+    @Param({"study room", "gym sector 7"})
+    public String query;
+
+    private final BigDecimal maxPrice = BigDecimal.valueOf(1500);
+
+    private List<Hostel> all;
+    private HostelTextIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        all = BenchmarkFixtures.hostels(hostels);
+        index = new HostelTextIndex();
+        all.forEach(index::upsert);
+        index.rebuilt();
+    }
+
+    @Benchmark
+    public void containsScan(Blackhole blackhole) {
+        String[] words = query.toLowerCase(Locale.ROOT).split(" ");
+        blackhole.consume(all.stream()
+                .filter(hostel -> hostel.getPricePerNight().compareTo(maxPrice) <= 0)
+                .filter(hostel -> {
+                    String text = (hostel.getName() + " " + hostel.getDescription() + " " + hostel.getAddress()
+                            + " " + String.join(" ", hostel.getFacilities())).toLowerCase(Locale.ROOT);
+                    for (String word : words) {
+                        if (text.contains(word)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                })
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public void invertedIndex(Blackhole blackhole) {
+        blackhole.consume(index.search(query, null, maxPrice, 20));
+    }
+
+    @Benchmark
+    public void availabilityUpsert() {
+        next = (next + 1) % all.size();
+        Hostel hostel = all.get(next);
+        hostel.setAvailableRooms(hostel.getAvailableRooms() ^ 1);
+        index.upsert(hostel);
+    }
+}
@@ -0,0 +1,66 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.BenchmarkFixtures;
+import com.hostel.hostelfinder.entity.Hostel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prefix lookups against the typeahead index, from a one-character prefix matching most entries
+ * to a near-complete hostel name. The heap the index retains is printed at setup, measured as
+ * used memory after GC with and without it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TypeaheadBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int hostels;
+
+    @Param({"h", "5000", "sec", "hostel 4242"})
+    public String prefix;
+
+    private TypeaheadIndex index;
+    private List<Hostel> all;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        all = BenchmarkFixtures.hostels(hostels);
+        long before = usedAfterGc();
+        index = new TypeaheadIndex();
+        all.forEach(index::upsert);
+        index.rebuilt();
+        long retained = usedAfterGc() - before;
+        System.out.printf("%n%d hostels -> %d suggestions, ~%d MB retained (%d bytes per hostel)%n",
+                hostels, index.size(), retained >> 20, retained / hostels);
+    }
+
+    @Benchmark
+    public void suggest(Blackhole blackhole) {
+        blackhole.consume(index.suggest(prefix, 10));
+    }
+
+    @Benchmark
+    public void reviewUpdate() {
+        next = (next + 1) % all.size();
+        Hostel hostel = all.get(next);
+        hostel.setTotalReviews(hostel.getTotalReviews() + 1);
+        index.upsert(hostel);
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
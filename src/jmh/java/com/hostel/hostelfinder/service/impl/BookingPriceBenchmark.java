@@ -0,0 +1,36 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.BenchmarkFixtures;
+import com.hostel.hostelfinder.dto.BookingDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingPriceBenchmark {
+
+    private Hostel hostel;
+    private BookingDTO booking;
+
+    @Setup
+    public void setUp() {
+        hostel = BenchmarkFixtures.hostels(1).get(0);
+        booking = new BookingDTO();
+        booking.setCheckInDate(LocalDate.now().plusDays(3));
+        booking.setCheckOutDate(LocalDate.now().plusDays(10));
+        booking.setNumberOfRooms(2);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPrice() {
+        return BookingServiceImpl.calculateTotalPrice(booking, hostel);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.hostelfinder.BenchmarkFixtures;
+import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of turning hostel rows into a JSON response: entity to DTO conversion, and Jackson
+ * serialization of the resulting list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HostelDtoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int hostels;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Hostel> rows;
+    private List<HostelDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        rows = BenchmarkFixtures.hostels(hostels);
+        dtos = convert();
+    }
+
+    @Benchmark
+    public List<HostelDTO> convertToDTO() {
+        return convert();
+    }
+
+    @Benchmark
+    public void serialize() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+
+    private List<HostelDTO> convert() {
+        return rows.stream()
+                .map(HostelServiceImpl::convertToDTO)
+                .collect(Collectors.toList());
+    }
+}
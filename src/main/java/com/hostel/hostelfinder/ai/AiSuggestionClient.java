@@ -0,0 +1,163 @@
+package com.hostel.hostelfinder.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hostel.hostelfinder.exception.AIServiceException;
+import com.hostel.hostelfinder.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calls the AI similar-locations endpoint. Answers are cached per normalized pincode, concurrent
+ * requests for the same pincode share one HTTP call, and a circuit breaker plus a concurrency
+ * limit keep a slow or failing AI service from tying up request threads. Every failure mode
+ * surfaces as {@link AIServiceException} so callers can fall back to local suggestions.
+ */
+@Slf4j
+@Component
+public class AiSuggestionClient {
+
+    public static final String CACHE_NAME = "aiSuggestions";
+
+    private final RestTemplate restTemplate;
+    private final ServiceMetrics serviceMetrics;
+    private final Cache<Object, Object> cache;
+    private final Map<String, CompletableFuture<List<String>>> inFlight = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final boolean enabled;
+    private final String url;
+    private final String apiKey;
+    private final long waitMillis;
+
+    public AiSuggestionClient(RestTemplate restTemplate,
+                              ServiceMetrics serviceMetrics,
+                              CacheManager cacheManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${ai.suggestions.enabled:false}") boolean enabled,
+                              @Value("${deepseek.api.url}") String baseUrl,
+                              @Value("${ai.suggestions.path:/v1/similar-locations}") String path,
+                              @Value("${deepseek.api.key:}") String apiKey,
+                              @Value("${ai.suggestions.max-concurrent-calls:10}") int maxConcurrentCalls,
+                              @Value("${ai.suggestions.failure-threshold:5}") int failureThreshold,
+                              @Value("${ai.suggestions.open-millis:30000}") long openMillis,
+                              @Value("${spring.web.client.read-timeout:3000}") long readTimeout) {
+        this.restTemplate = restTemplate;
+        this.serviceMetrics = serviceMetrics;
+        this.cache = ((CaffeineCache) cacheManager.getCache(CACHE_NAME)).getNativeCache();
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.enabled = enabled;
+        this.url = baseUrl + path;
+        this.apiKey = apiKey;
+        // Followers never wait longer than the leader's own call can take
+        this.waitMillis = readTimeout * 2;
+        Gauge.builder(ServiceMetrics.AI + ".circuit.open", circuitBreaker,
+                        breaker -> breaker.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<String> similarLocations(String pincode) {
+        if (!enabled) {
+            throw new AIServiceException("AI suggestions are disabled");
+        }
+        String key = normalize(pincode);
+        @SuppressWarnings("unchecked")
+        List<String> cached = (List<String>) cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<List<String>> call = new CompletableFuture<>();
+        CompletableFuture<List<String>> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            return await(leader);
+        }
+        try {
+            List<String> locations = serviceMetrics.record(ServiceMetrics.AI, "similar_locations", () -> fetch(key));
+            cache.put(key, locations);
+            call.complete(locations);
+            return locations;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private List<String> fetch(String pincode) {
+        // Bulkhead before breaker, so a rejected call never holds the half-open trial slot
+        if (!bulkhead.tryAcquire()) {
+            throw new AIServiceException("Too many concurrent AI suggestion calls");
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new AIServiceException("AI suggestion service is unavailable");
+            }
+            try {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.setBearerAuth(apiKey);
+                String[] locations = restTemplate.postForObject(url,
+                        new HttpEntity<>(Map.of("pincode", pincode), headers), String[].class);
+                circuitBreaker.onSuccess();
+                return locations == null ? List.of() : List.copyOf(Arrays.asList(locations));
+            } catch (HttpClientErrorException e) {
+                // The service answered; a rejected request says nothing about its health
+                circuitBreaker.onSuccess();
+                throw new AIServiceException("AI suggestion request rejected: " + e.getStatusCode(), e);
+            } catch (RestClientException e) {
+                circuitBreaker.onFailure();
+                log.warn("AI suggestion call failed: {}", e.getMessage());
+                throw new AIServiceException("AI suggestion call failed", e);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private List<String> await(CompletableFuture<List<String>> leader) {
+        try {
+            return leader.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AIServiceException) {
+                throw (AIServiceException) e.getCause();
+            }
+            throw new AIServiceException("AI suggestion call failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new AIServiceException("Timed out waiting for AI suggestions", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AIServiceException("Interrupted waiting for AI suggestions", e);
+        }
+    }
+
+    static String normalize(String pincode) {
+        return pincode == null ? "" : pincode.replaceAll("\\s+", "").toUpperCase(Locale.ROOT);
+    }
+}
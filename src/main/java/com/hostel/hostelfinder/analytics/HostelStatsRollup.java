@@ -0,0 +1,94 @@
+package com.hostel.hostelfinder.analytics;
+
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.repository.HostelDailyStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the per-hostel, per-night rollup in step with booking state. Each confirm or cancel of
+ * a confirmed booking upserts one row per night in the caller's transaction, so the totals commit
+ * or roll back together with the status change.
+ * <p>
+ * Nights are written in date order, so two bookings touching the same nights lock the rows in
+ * the same order and cannot deadlock each other.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HostelStatsRollup {
+
+    private static final String UPSERT = "INSERT INTO hostel_daily_stats (hostel_id, stay_date, rooms_sold, revenue, cancelled_rooms) "
+            + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE rooms_sold = rooms_sold + VALUES(rooms_sold), "
+            + "revenue = revenue + VALUES(revenue), cancelled_rooms = cancelled_rooms + VALUES(cancelled_rooms)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HostelDailyStatsRepository statsRepository;
+
+    public void recordConfirmed(Booking booking) {
+        upsert(booking, 1, 0);
+    }
+
+    /**
+     * Takes a confirmed booking back out of sold rooms and revenue and counts its nights as
+     * cancelled. Cancelling a booking that was only PENDING never reached the rollup.
+     */
+    public void recordCancelled(Booking booking) {
+        upsert(booking, -1, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        if (statsRepository.count() > 0) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Integer rows = transactionTemplate.execute(status -> statsRepository.backfillFromBookings());
+        if (rows != null && rows > 0) {
+            log.info("Seeded hostel daily stats from confirmed bookings ({} rows) in {} ms",
+                    rows, System.currentTimeMillis() - started);
+        }
+    }
+
+    private void upsert(Booking booking, int soldSign, int cancelled) {
+        LocalDate checkIn = booking.getCheckInDate();
+        int nights = (int) (booking.getCheckOutDate().toEpochDay() - checkIn.toEpochDay());
+        if (nights <= 0) {
+            return;
+        }
+        Long hostelId = booking.getHostel().getId();
+        int rooms = booking.getNumberOfRooms();
+        BigDecimal[] prices = nightlyPrices(booking.getTotalPrice(), nights);
+        List<Object[]> rows = new ArrayList<>(nights);
+        for (int night = 0; night < nights; night++) {
+            rows.add(new Object[]{hostelId, Date.valueOf(checkIn.plusDays(night)), soldSign * rooms,
+                    soldSign < 0 ? prices[night].negate() : prices[night], cancelled * rooms});
+        }
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    // Same split as the seeding query: rounded to cents, with the remainder on the last night
+    static BigDecimal[] nightlyPrices(BigDecimal totalPrice, int nights) {
+        BigDecimal total = totalPrice == null ? BigDecimal.ZERO : totalPrice;
+        BigDecimal nightly = total.divide(BigDecimal.valueOf(nights), 2, RoundingMode.HALF_UP);
+        BigDecimal[] prices = new BigDecimal[nights];
+        for (int night = 0; night < nights - 1; night++) {
+            prices[night] = nightly;
+        }
+        prices[nights - 1] = total.subtract(nightly.multiply(BigDecimal.valueOf(nights - 1)));
+        return prices;
+    }
+}
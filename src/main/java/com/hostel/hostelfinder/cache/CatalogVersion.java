@@ -0,0 +1,43 @@
+package com.hostel.hostelfinder.cache;
+
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the hostel catalog as a whole, for validating list and search responses. It moves
+ * on after every committed {@link HostelChangedEvent}, once {@link HostelCache} and the search
+ * indexes have refreshed, so a response tagged with a version never carries older data.
+ * <p>
+ * Versions are per process: they start over with the JVM and differ between instances, which
+ * costs a full response after a restart or a switch of instance but is never wrong.
+ */
+@Component
+public class CatalogVersion {
+
+    // Listeners that refresh catalog data run at this order or earlier
+    public static final int REFRESH_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = epoch;
+
+    public String getETag() {
+        return epoch + "-" + version.get();
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHostelChanged(HostelChangedEvent event) {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+}
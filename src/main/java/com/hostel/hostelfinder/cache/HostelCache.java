@@ -0,0 +1,91 @@
+package com.hostel.hostelfinder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hostel.hostelfinder.datasource.PrimaryReads;
+import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ready-built {@link HostelDTO}s by hostel id, read through on miss. Entries are dropped after
+ * every committed {@link HostelChangedEvent}, which covers hostel edits as well as
+ * booking-driven changes to available rooms.
+ * <p>
+ * Loads always read the primary: with a read replica, a lagging row loaded after the
+ * invalidation would otherwise stay cached, under an already advanced {@link CatalogVersion},
+ * until it expires.
+ */
+@Component
+public class HostelCache {
+
+    public static final String NAME = "hostels";
+
+    private final Cache<Object, Object> cache;
+    // Bumped before every invalidation; a load that started under an older value may hold data
+    // from before the change and is returned without being cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final PrimaryReads primaryReads;
+
+    public HostelCache(CacheManager cacheManager, PrimaryReads primaryReads) {
+        this.cache = ((CaffeineCache) cacheManager.getCache(NAME)).getNativeCache();
+        this.primaryReads = primaryReads;
+    }
+
+    public HostelDTO get(Long id, Function<Long, HostelDTO> loader) {
+        // Load outside Caffeine's compute so the JDBC call does not run inside a map-bin monitor,
+        // which would pin the carrier when requests run on virtual threads
+        HostelDTO cached = (HostelDTO) cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = invalidations.get();
+        HostelDTO loaded = primaryReads.read(() -> loader.apply(id));
+        putUnlessInvalidated(id, loaded, seen);
+        return loaded;
+    }
+
+    /**
+     * Cached DTOs for the given ids; misses are loaded together in one call to {@code loader}.
+     * Ids the loader does not return are absent from the result.
+     */
+    public Map<Long, HostelDTO> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, HostelDTO>> loader) {
+        Map<Long, HostelDTO> result = new HashMap<>();
+        cache.getAllPresent(ids).forEach((id, dto) -> result.put((Long) id, (HostelDTO) dto));
+        Set<Long> missing = ids.stream()
+                .filter(id -> !result.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            long seen = invalidations.get();
+            primaryReads.read(() -> loader.apply(missing)).forEach((id, dto) -> {
+                putUnlessInvalidated(id, dto, seen);
+                result.put(id, dto);
+            });
+        }
+        return result;
+    }
+
+    // The check and the put happen under the entry's lock, so an invalidation either lands
+    // first and is seen here, or lands after and removes what was put
+    private void putUnlessInvalidated(Long id, HostelDTO loaded, long seen) {
+        cache.asMap().compute(id, (key, current) -> invalidations.get() == seen ? loaded : current);
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHostelChanged(HostelChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(event.getHostelIds());
+    }
+}
@@ -0,0 +1,56 @@
+package com.hostel.hostelfinder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hostel.hostelfinder.dto.ReviewHighlightsDTO;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.event.ReviewChangedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Most recent and most helpful reviews per hostel, as shown on the hostel detail page.
+ * An entry is dropped once a review for that hostel has been written, or the hostel removed.
+ */
+@Component
+public class ReviewHighlightsCache {
+
+    public static final String NAME = "reviewHighlights";
+
+    private final Cache<Object, Object> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReviewHighlightsCache(CacheManager cacheManager) {
+        this.cache = ((CaffeineCache) cacheManager.getCache(NAME)).getNativeCache();
+    }
+
+    public ReviewHighlightsDTO get(Long hostelId, Function<Long, ReviewHighlightsDTO> loader) {
+        // Same load-outside-compute pattern, and the same guard against caching a stale load, as HostelCache
+        ReviewHighlightsDTO cached = (ReviewHighlightsDTO) cache.getIfPresent(hostelId);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = invalidations.get();
+        ReviewHighlightsDTO loaded = loader.apply(hostelId);
+        cache.asMap().compute(hostelId, (key, current) -> invalidations.get() == seen ? loaded : current);
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidate(event.getHostelId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHostelChanged(HostelChangedEvent event) {
+        if (event.isRemoved()) {
+            invalidations.incrementAndGet();
+            cache.invalidateAll(event.getHostelIds());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.hostel.hostelfinder.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hostel.hostelfinder.ai.AiSuggestionClient;
+import com.hostel.hostelfinder.cache.HostelCache;
+import com.hostel.hostelfinder.cache.ReviewHighlightsCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> hostelCacheCustomizer(
+            @Value("${cache.hostels.maximum-size:10000}") long maximumSize,
+            @Value("${cache.hostels.ttl:10m}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(HostelCache.NAME, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> reviewHighlightsCacheCustomizer(
+            @Value("${cache.review-highlights.maximum-size:5000}") long maximumSize,
+            @Value("${cache.review-highlights.ttl:30m}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(ReviewHighlightsCache.NAME, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> aiSuggestionCacheCustomizer(
+            @Value("${cache.ai-suggestions.maximum-size:10000}") long maximumSize,
+            @Value("${cache.ai-suggestions.ttl:1h}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(AiSuggestionClient.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+}
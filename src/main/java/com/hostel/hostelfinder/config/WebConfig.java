@@ -1,18 +1,52 @@
 package com.hostel.hostelfinder.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 
 @Configuration
 public class WebConfig {
-    
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(
+            @Value("${spring.web.client.max-connections:50}") int maxConnections,
+            @Value("${spring.web.client.connection-timeout:3000}") long connectTimeout,
+            @Value("${spring.web.client.read-timeout:3000}") long readTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                // Nearly all traffic goes to the one AI host, so let it use the whole pool
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                // The default strategy repeats a 503 after a one-second pause, doubling the load on a
+                // failing service and hiding failures from the AI client's circuit breaker
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(3000);
-        factory.setReadTimeout(3000);
+    public RestTemplate restTemplate(CloseableHttpClient httpClient,
+                                     @Value("${spring.web.client.connection-timeout:3000}") long connectTimeout) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        // Bounds the wait for a pooled connection when every one is busy
+        factory.setConnectionRequestTimeout((int) connectTimeout);
         return new RestTemplate(factory);
     }
 }
@@ -0,0 +1,38 @@
+package com.hostel.hostelfinder.controller;
+
+import com.hostel.hostelfinder.dto.HostelAnalyticsDTO;
+import com.hostel.hostelfinder.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/hostels")
+    public ResponseEntity<HostelAnalyticsDTO> getHostelAnalytics(
+            @RequestParam List<Long> hostelIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean daily) {
+        return ResponseEntity.ok(analyticsService.getHostelAnalytics(hostelIds, from, to, daily));
+    }
+
+    @GetMapping("/hostels/{hostelId}")
+    public ResponseEntity<HostelAnalyticsDTO> getHostelAnalytics(
+            @PathVariable Long hostelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "true") boolean daily) {
+        return ResponseEntity.ok(analyticsService.getHostelAnalytics(List.of(hostelId), from, to, daily));
+    }
+}
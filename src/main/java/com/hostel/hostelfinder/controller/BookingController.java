@@ -1,12 +1,22 @@
 package com.hostel.hostelfinder.controller;
 
 import com.hostel.hostelfinder.dto.BookingDTO;
+import com.hostel.hostelfinder.dto.ExportFormat;
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.service.BookingExportService;
 import com.hostel.hostelfinder.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,6 +26,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @PostMapping
     public ResponseEntity<BookingDTO> createBooking(@Valid @RequestBody BookingDTO bookingDTO) {
@@ -37,6 +48,23 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getHostelBookings(hostelId));
     }
 
+    @GetMapping("/hostel/{hostelId}/export")
+    public ResponseEntity<StreamingResponseBody> exportHostelBookings(
+            @PathVariable Long hostelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Booking.BookingStatus> status,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        StreamingResponseBody body = bookingExportService.exportHostelBookings(hostelId, from, to, status, format);
+        String filename = "hostel-" + hostelId + "-bookings" + (format == ExportFormat.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @PutMapping("/{id}/cancel")
     public ResponseEntity<BookingDTO> cancelBooking(@PathVariable Long id) {
         return ResponseEntity.ok(bookingService.cancelBooking(id));
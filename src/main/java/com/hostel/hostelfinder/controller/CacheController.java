@@ -0,0 +1,46 @@
+package com.hostel.hostelfinder.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hostel.hostelfinder.dto.CacheStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> convertToDTO((CaffeineCache) cache))
+                .collect(Collectors.toList()));
+    }
+
+    private CacheStatsDTO convertToDTO(CaffeineCache cache) {
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        CacheStatsDTO dto = new CacheStatsDTO();
+        dto.setName(cache.getName());
+        dto.setEstimatedSize(nativeCache.estimatedSize());
+        dto.setHitCount(stats.hitCount());
+        dto.setMissCount(stats.missCount());
+        dto.setHitRate(stats.hitRate());
+        dto.setEvictionCount(stats.evictionCount());
+        dto.setLoadCount(stats.loadCount());
+        dto.setAverageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000.0);
+        return dto;
+    }
+}
@@ -1,13 +1,33 @@
 package com.hostel.hostelfinder.controller;
 
+import com.hostel.hostelfinder.cache.CatalogVersion;
+import com.hostel.hostelfinder.dto.AvailabilityCalendarDTO;
+import com.hostel.hostelfinder.dto.CursorPageDTO;
 import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.dto.HostelSort;
+import com.hostel.hostelfinder.dto.ImportFormat;
+import com.hostel.hostelfinder.dto.ImportReportDTO;
+import com.hostel.hostelfinder.dto.SmartSearchResultDTO;
+import com.hostel.hostelfinder.dto.SuggestionDTO;
+import com.hostel.hostelfinder.service.AvailabilityService;
+import com.hostel.hostelfinder.service.HostelImportService;
 import com.hostel.hostelfinder.service.HostelService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -17,23 +37,128 @@ import java.util.List;
 public class HostelController {
 
     private final HostelService hostelService;
+    private final HostelImportService hostelImportService;
+    private final CatalogVersion catalogVersion;
+    private final AvailabilityService availabilityService;
 
+    @Value("${http.cache.hostel.max-age:30s}")
+    private Duration hostelMaxAge;
+
+    @Value("${http.cache.hostel-list.max-age:10s}")
+    private Duration hostelListMaxAge;
+
+    @Value("${http.cache.search.max-age:0s}")
+    private Duration searchMaxAge;
+
+    // Validated against the catalog version before the page is built, so an unchanged catalog
+    // costs neither the key query nor serialization
     @GetMapping
-    public ResponseEntity<List<HostelDTO>> getAllHostels() {
-        return ResponseEntity.ok(hostelService.getAllHostels());
+    public ResponseEntity<CursorPageDTO<HostelDTO>> getAllHostels(
+            @RequestParam(defaultValue = "ID") HostelSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        CacheControl cacheControl = cacheControl(hostelListMaxAge);
+        if (request.checkNotModified(catalogVersion.getETag(), catalogVersion.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(hostelService.getAllHostels(sort, cursor, size));
     }
 
+    // The DTO comes from the hostel cache; on a matching If-None-Match Spring answers 304
+    // without serializing it
     @GetMapping("/{id}")
     public ResponseEntity<HostelDTO> getHostel(@PathVariable Long id) {
-        return ResponseEntity.ok(hostelService.getHostel(id));
+        HostelDTO hostel = hostelService.getHostel(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(hostel.getId() + "-" + hostel.getVersion())
+                .cacheControl(cacheControl(hostelMaxAge));
+        if (hostel.getUpdatedAt() != null) {
+            response.lastModified(hostel.getUpdatedAt().atZone(ZoneId.systemDefault()));
+        }
+        return response.body(hostel);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<HostelDTO>> searchHostels(
+    public ResponseEntity<CursorPageDTO<HostelDTO>> searchHostels(
             @RequestParam(required = false) String location,
             @RequestParam(required = false) BigDecimal maxPrice,
-            @RequestParam(required = false) List<String> facilities) {
-        return ResponseEntity.ok(hostelService.searchHostels(location, maxPrice, facilities));
+            @RequestParam(required = false) List<String> facilities,
+            @RequestParam(defaultValue = "PRICE") HostelSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        CacheControl cacheControl = cacheControl(searchMaxAge);
+        if (request.checkNotModified(catalogVersion.getETag(), catalogVersion.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(hostelService.searchHostels(location, maxPrice, facilities, sort, cursor, size));
+    }
+
+    // Readiness is checked before the validators are set, so a refusal carries no catalog ETag
+    @GetMapping("/text-search")
+    public ResponseEntity<List<HostelDTO>> textSearch(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        hostelService.requireTextSearchReady();
+        CacheControl cacheControl = cacheControl(searchMaxAge);
+        if (request.checkNotModified(catalogVersion.getETag(), catalogVersion.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(hostelService.textSearch(query, location, maxPrice, size));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<HostelDTO>> topHostels(
+            @RequestParam String pincode,
+            @RequestParam(defaultValue = "false") boolean availableOnly,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        CacheControl cacheControl = cacheControl(searchMaxAge);
+        if (request.checkNotModified(catalogVersion.getETag(), catalogVersion.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(hostelService.topHostels(pincode, availableOnly, size));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+        CacheControl cacheControl = cacheControl(searchMaxAge);
+        if (request.checkNotModified(catalogVersion.getETag(), catalogVersion.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(hostelService.suggest(prefix, limit));
+    }
+
+    // Free rooms per night for a date-by-hostel grid: either a set of hostels or a whole pincode
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityCalendarDTO> getAvailability(
+            @RequestParam(required = false) List<Long> hostelIds,
+            @RequestParam(required = false) String pincode,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(availabilityService.getAvailability(hostelIds, pincode, from, to));
+    }
+
+    @GetMapping("/smart-search/{pincode}")
+    public ResponseEntity<SmartSearchResultDTO> smartSearch(@PathVariable String pincode) {
+        return ResponseEntity.ok(hostelService.smartSearch(pincode));
     }
 
     @PostMapping
@@ -41,6 +166,16 @@ public class HostelController {
         return ResponseEntity.ok(hostelService.createHostel(hostelDTO));
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportReportDTO> importHostelsNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(hostelImportService.importHostels(body, ImportFormat.NDJSON));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importHostelsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(hostelImportService.importHostels(body, ImportFormat.CSV));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<HostelDTO> updateHostel(
             @PathVariable Long id,
@@ -53,4 +188,10 @@ public class HostelController {
         hostelService.deleteHostel(id);
         return ResponseEntity.ok().build();
     }
+
+    // Hostel data is the same for every caller, so shared caches may keep it; a zero max-age
+    // means every reuse is revalidated
+    private static CacheControl cacheControl(Duration maxAge) {
+        return (maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge)).cachePublic();
+    }
 }
@@ -0,0 +1,59 @@
+package com.hostel.hostelfinder.controller;
+
+import com.hostel.hostelfinder.dto.CursorPageDTO;
+import com.hostel.hostelfinder.dto.RatingDistributionDTO;
+import com.hostel.hostelfinder.dto.ReviewDTO;
+import com.hostel.hostelfinder.dto.ReviewHighlightsDTO;
+import com.hostel.hostelfinder.service.ReviewService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reviews")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    @PostMapping
+    public ResponseEntity<ReviewDTO> createReview(@Valid @RequestBody ReviewDTO reviewDTO) {
+        return ResponseEntity.ok(reviewService.createReview(reviewDTO));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReviewDTO> getReview(@PathVariable Long id) {
+        return ResponseEntity.ok(reviewService.getReview(id));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ReviewDTO> updateReview(@PathVariable Long id, @Valid @RequestBody ReviewDTO reviewDTO) {
+        return ResponseEntity.ok(reviewService.updateReview(id, reviewDTO));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteReview(@PathVariable Long id) {
+        reviewService.deleteReview(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/hostel/{hostelId}")
+    public ResponseEntity<CursorPageDTO<ReviewDTO>> getHostelReviews(
+            @PathVariable Long hostelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.getHostelReviews(hostelId, cursor, size));
+    }
+
+    @GetMapping("/hostel/{hostelId}/highlights")
+    public ResponseEntity<ReviewHighlightsDTO> getReviewHighlights(@PathVariable Long hostelId) {
+        return ResponseEntity.ok(reviewService.getReviewHighlights(hostelId));
+    }
+
+    @GetMapping("/hostel/{hostelId}/distribution")
+    public ResponseEntity<RatingDistributionDTO> getRatingDistribution(@PathVariable Long hostelId) {
+        return ResponseEntity.ok(reviewService.getRatingDistribution(hostelId));
+    }
+}
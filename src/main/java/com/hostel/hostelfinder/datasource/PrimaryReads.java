@@ -0,0 +1,41 @@
+package com.hostel.hostelfinder.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs reads whose results outlive the request, such as cache loads, against the primary. A
+ * replica row cached after the change that invalidated it would be served until the entry
+ * expires, so these reads must not lag. Inside a read-only transaction, which may already hold
+ * a replica connection, the read gets a transaction of its own on the primary.
+ */
+@Component
+public class PrimaryReads {
+
+    private final boolean enabled;
+    private final TransactionTemplate primaryTemplate;
+
+    public PrimaryReads(@Value("${datasource.replica.enabled:false}") boolean enabled,
+                        PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.primaryTemplate = new TransactionTemplate(transactionManager);
+        this.primaryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryTemplate.setReadOnly(true);
+    }
+
+    public <T> T read(Supplier<T> call) {
+        // Anything but an unpinned read-only transaction is on the primary already
+        if (!enabled
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadWriteRoutingDataSource.isPinnedToPrimary()) {
+            return call.get();
+        }
+        return ReadWriteRoutingDataSource.onPrimary(() -> primaryTemplate.execute(status -> call.get()));
+    }
+}
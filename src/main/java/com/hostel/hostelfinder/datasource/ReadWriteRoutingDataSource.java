@@ -0,0 +1,66 @@
+package com.hostel.hostelfinder.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections for
+ * everything else, including work outside any transaction. The pool is chosen when a physical
+ * connection is first needed, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for its connection before the new transaction is marked read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Pool { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Pool.PRIMARY, primary, Pool.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = Counter.builder("hostelfinder.datasource.routes").tag("pool", "primary")
+                .register(meterRegistry);
+        this.replicaRoutes = Counter.builder("hostelfinder.datasource.routes").tag("pool", "replica")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} with every connection it opens taken from the primary, read-only or not,
+     * for reads that cannot tolerate replication lag.
+     */
+    public static <T> T onPrimary(Supplier<T> call) {
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                PINNED_TO_PRIMARY.remove();
+            }
+        }
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isPinnedToPrimary()) {
+            replicaRoutes.increment();
+            return Pool.REPLICA;
+        }
+        primaryRoutes.increment();
+        return Pool.PRIMARY;
+    }
+}
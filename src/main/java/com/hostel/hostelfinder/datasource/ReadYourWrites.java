@@ -0,0 +1,61 @@
+package com.hostel.hostelfinder.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a user's reads on the primary for a short window after their own booking commits, so
+ * a booking just made never goes missing from their list while the replica catches up. The
+ * window is per instance: a user routed to another instance straight after writing can still
+ * read from the replica.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final boolean enabled;
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${datasource.replica.enabled:false}") boolean enabled,
+                          @Value("${datasource.replica.read-your-writes:5s}") Duration window,
+                          @Value("${datasource.replica.read-your-writes-max-users:100000}") long maxUsers) {
+        this.enabled = enabled;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /**
+     * Opens the window for {@code userId} once the current transaction commits, or right away
+     * outside one.
+     */
+    public void recordWrite(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(userId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        });
+    }
+
+    public <T> T read(Long userId, Supplier<T> call) {
+        if (enabled && userId != null && recentWriters.getIfPresent(userId) != null) {
+            return ReadWriteRoutingDataSource.onPrimary(call);
+        }
+        return call.get();
+    }
+}
@@ -0,0 +1,24 @@
+package com.hostel.hostelfinder.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class AvailabilityCalendarDTO {
+    private LocalDate from;
+    // Exclusive: the last night shown is the one before this date
+    private LocalDate to;
+    private List<HostelAvailability> hostels = new ArrayList<>();
+
+    @Data
+    public static class HostelAvailability {
+        private Long hostelId;
+        private String hostelName;
+        private Integer totalRooms;
+        // freeRooms[i] is the number of rooms free on the night of from + i days
+        private int[] freeRooms;
+    }
+}
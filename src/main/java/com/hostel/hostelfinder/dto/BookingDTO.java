@@ -1,6 +1,8 @@
 package com.hostel.hostelfinder.dto;
 
 import com.hostel.hostelfinder.entity.Booking;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -9,13 +11,27 @@ import java.time.LocalDate;
 @Data
 public class BookingDTO {
     private Long id;
+
+    @NotNull(message = "User ID is required")
     private Long userId;
+
     private String userName;
+
+    @NotNull(message = "Hostel ID is required")
     private Long hostelId;
+
     private String hostelName;
+
+    @NotNull(message = "Check-in date is required")
     private LocalDate checkInDate;
+
+    @NotNull(message = "Check-out date is required")
     private LocalDate checkOutDate;
+
+    @NotNull(message = "Number of rooms is required")
+    @Min(value = 1, message = "At least one room must be booked")
     private Integer numberOfRooms;
+
     private BigDecimal totalPrice;
     private Booking.BookingStatus status;
 }
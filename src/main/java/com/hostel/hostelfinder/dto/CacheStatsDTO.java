@@ -0,0 +1,15 @@
+package com.hostel.hostelfinder.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheStatsDTO {
+    private String name;
+    private long estimatedSize;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long loadCount;
+    private double averageLoadPenaltyMillis;
+}
@@ -0,0 +1,16 @@
+package com.hostel.hostelfinder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    // Opaque; pass back as ?cursor= to fetch the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,37 @@
+package com.hostel.hostelfinder.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class HostelAnalyticsDTO {
+    private LocalDate from;
+    // Exclusive: the last night counted is the one before this date
+    private LocalDate to;
+    private Metrics total;
+    private List<Metrics> hostels = new ArrayList<>();
+    // Only filled when a daily breakdown is requested
+    private List<Metrics> daily = new ArrayList<>();
+
+    @Data
+    public static class Metrics {
+        // Set on per-hostel rows
+        private Long hostelId;
+        private String hostelName;
+        // Set on daily rows
+        private LocalDate date;
+        private long roomsSold;
+        private long roomNightsAvailable;
+        private double occupancy;
+        private BigDecimal revenue;
+        // Average daily rate: revenue per room-night sold
+        private BigDecimal averageDailyRate;
+        // Revenue per available room-night
+        private BigDecimal revPar;
+        private long cancelledRooms;
+    }
+}
@@ -1,8 +1,10 @@
 package com.hostel.hostelfinder.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -19,4 +21,10 @@ public class HostelDTO {
     private List<String> images;
     private Double rating;
     private Integer totalReviews;
+
+    // Validators for conditional GETs, sent as ETag and Last-Modified rather than in the body
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,7 @@
+package com.hostel.hostelfinder.dto;
+
+public enum HostelSort {
+    ID,
+    PRICE,
+    RATING
+}
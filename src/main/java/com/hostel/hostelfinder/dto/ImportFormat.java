@@ -0,0 +1,6 @@
+package com.hostel.hostelfinder.dto;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,23 @@
+package com.hostel.hostelfinder.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReportDTO {
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // Capped; rowsFailed has the full count
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    public static class RowError {
+        private final long line;
+        private final String message;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hostel.hostelfinder.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class RatingDistributionDTO {
+    private Long hostelId;
+    private Double averageRating;
+    private Long totalReviews;
+    // Star value (5 down to 1) to number of reviews
+    private Map<Integer, Long> stars;
+}
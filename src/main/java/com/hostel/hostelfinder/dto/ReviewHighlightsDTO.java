@@ -0,0 +1,16 @@
+package com.hostel.hostelfinder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewHighlightsDTO {
+    private Long hostelId;
+    private List<ReviewDTO> recent;
+    private List<ReviewDTO> mostHelpful;
+}
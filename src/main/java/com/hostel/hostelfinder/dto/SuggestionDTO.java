@@ -0,0 +1,11 @@
+package com.hostel.hostelfinder.dto;
+
+import lombok.Data;
+
+@Data
+public class SuggestionDTO {
+    // PINCODE, LOCALITY or HOSTEL
+    private String type;
+    private String text;
+    private int hostelCount;
+}
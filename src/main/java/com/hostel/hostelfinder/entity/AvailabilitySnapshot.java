@@ -0,0 +1,33 @@
+package com.hostel.hostelfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Rooms booked per night for one hostel as of ledger position {@code lastEventId}. Night
+ * {@code i} of {@code nights} (big-endian ints) is the night starting {@code baseDate + i}.
+ */
+@Data
+@Entity
+@Table(name = "availability_snapshots")
+public class AvailabilitySnapshot {
+    @Id
+    @Column(name = "hostel_id")
+    private Long hostelId;
+
+    @Column(nullable = false)
+    private LocalDate baseDate;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] nights;
+
+    @Column(nullable = false)
+    private Long lastEventId;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+}
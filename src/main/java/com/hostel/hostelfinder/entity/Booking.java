@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_status_id", columnList = "status, id"),
+        @Index(name = "idx_bookings_hostel_status_dates", columnList = "hostel_id, status, check_in_date, check_out_date")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
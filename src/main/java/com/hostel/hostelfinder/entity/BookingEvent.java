@@ -0,0 +1,72 @@
+package com.hostel.hostelfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One entry in the append-only booking ledger. Each event carries the stay it refers to, so
+ * availability can be replayed from events alone; the id doubles as the ledger position.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "booking_events", indexes = {
+        @Index(name = "idx_booking_events_hostel_id", columnList = "hostel_id, id"),
+        @Index(name = "idx_booking_events_booking", columnList = "booking_id")
+})
+public class BookingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "hostel_id", nullable = false)
+    private Long hostelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(nullable = false)
+    private LocalDate checkOutDate;
+
+    @Column(nullable = false)
+    private Integer numberOfRooms;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    public enum Type {
+        CREATED(1),
+        CONFIRMED(0),
+        CANCELLED(-1),
+        COMPLETED(0);
+
+        // Multiplier for numberOfRooms when replaying nightly occupancy
+        private final int sign;
+
+        Type(int sign) {
+            this.sign = sign;
+        }
+
+        public int getSign() {
+            return sign;
+        }
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (occurredAt == null) {
+            occurredAt = LocalDateTime.now();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.hostel.hostelfinder.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,7 +11,11 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "hostels")
+@Table(name = "hostels", indexes = {
+        @Index(name = "idx_hostels_pincode_price", columnList = "pincode, price_per_night"),
+        @Index(name = "idx_hostels_price_id", columnList = "price_per_night, id"),
+        @Index(name = "idx_hostels_rating_id", columnList = "rating, id")
+})
 public class Hostel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,17 +29,24 @@ public class Hostel {
     private Integer totalRooms;
     private Integer availableRooms;
 
+    // Batch-initialized so a page of hostels loads each collection in one query instead of one per row
     @ElementCollection
     @CollectionTable(name = "hostel_facilities")
+    @BatchSize(size = 100)
     private List<String> facilities = new ArrayList<>();
 
     @ElementCollection
     @CollectionTable(name = "hostel_images")
+    @BatchSize(size = 100)
     private List<String> images = new ArrayList<>();
 
     private Double rating;
     private Integer totalReviews;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version = 0L;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
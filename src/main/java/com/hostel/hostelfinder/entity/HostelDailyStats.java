@@ -0,0 +1,46 @@
+package com.hostel.hostelfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Confirmed-booking totals for one hostel and one stay night. Rows are adjusted in place by
+ * each confirm and cancel, so range analytics sum a few hundred rows per hostel instead of
+ * scanning bookings.
+ */
+@Data
+@Entity
+@IdClass(HostelDailyStats.Key.class)
+@Table(name = "hostel_daily_stats")
+public class HostelDailyStats {
+    @Id
+    @Column(name = "hostel_id")
+    private Long hostelId;
+
+    @Id
+    @Column(name = "stay_date")
+    private LocalDate stayDate;
+
+    // Room-nights held by CONFIRMED or COMPLETED bookings
+    private long roomsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    // Room-nights given back by cancelling a confirmed booking
+    private long cancelledRooms;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long hostelId;
+        private LocalDate stayDate;
+    }
+}
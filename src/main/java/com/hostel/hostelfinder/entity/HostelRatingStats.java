@@ -0,0 +1,56 @@
+package com.hostel.hostelfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Running rating aggregate for one hostel, adjusted on every review write so averages and
+ * star distributions are read in O(1) instead of scanning reviews.
+ */
+@Data
+@Entity
+@Table(name = "hostel_rating_stats")
+public class HostelRatingStats {
+    @Id
+    @Column(name = "hostel_id")
+    private Long hostelId;
+
+    private long ratingSum;
+    private long ratingCount;
+    private long oneStar;
+    private long twoStar;
+    private long threeStar;
+    private long fourStar;
+    private long fiveStar;
+
+    /**
+     * Adds ({@code count > 0}) or removes ({@code count < 0}) that many reviews with the given rating.
+     */
+    public void apply(int rating, long count) {
+        switch (rating) {
+            case 1: oneStar += count; break;
+            case 2: twoStar += count; break;
+            case 3: threeStar += count; break;
+            case 4: fourStar += count; break;
+            case 5: fiveStar += count; break;
+            default: throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        ratingSum += count * rating;
+        ratingCount += count;
+    }
+
+    public double getAverage() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    public long getStars(int rating) {
+        switch (rating) {
+            case 1: return oneStar;
+            case 2: return twoStar;
+            case 3: return threeStar;
+            case 4: return fourStar;
+            case 5: return fiveStar;
+            default: throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+    }
+}
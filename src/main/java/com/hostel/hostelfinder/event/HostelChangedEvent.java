@@ -0,0 +1,28 @@
+package com.hostel.hostelfinder.event;
+
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published whenever hostel rows change, including booking-driven availability updates.
+ * In-memory indexes and caches refresh from it once the change has committed.
+ */
+@Value
+public class HostelChangedEvent {
+    Collection<Long> hostelIds;
+    boolean removed;
+
+    public static HostelChangedEvent updated(Long hostelId) {
+        return new HostelChangedEvent(List.of(hostelId), false);
+    }
+
+    public static HostelChangedEvent updated(Collection<Long> hostelIds) {
+        return new HostelChangedEvent(List.copyOf(hostelIds), false);
+    }
+
+    public static HostelChangedEvent removed(Long hostelId) {
+        return new HostelChangedEvent(List.of(hostelId), true);
+    }
+}
@@ -0,0 +1,12 @@
+package com.hostel.hostelfinder.event;
+
+import lombok.Value;
+
+/**
+ * Published when a review is created, edited or deleted; per-hostel review caches drop their
+ * entry once the write has committed.
+ */
+@Value
+public class ReviewChangedEvent {
+    Long hostelId;
+}
@@ -0,0 +1,7 @@
+package com.hostel.hostelfinder.exception;
+
+public class RoomsUnavailableException extends RuntimeException {
+    public RoomsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,218 @@
+package com.hostel.hostelfinder.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * In-process nearest-pincode lookup over a pincode,latitude,longitude table. Points are bucketed
+ * into a fixed-size lat/long grid; a query scans rings of cells outward from the searched pincode
+ * and stops once no unscanned cell can hold anything closer than the k-th match.
+ */
+@Slf4j
+@Component
+public class PincodeProximityIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final Resource pincodeFile;
+    private final double cellDegrees;
+    private final double maxRadiusKm;
+
+    private volatile Grid grid = new Grid(Map.of(), Map.of(), 0);
+
+    public PincodeProximityIndex(@Value("${geo.pincode-file:classpath:geo/pincodes.csv}") Resource pincodeFile,
+                                 @Value("${geo.cell-degrees:0.25}") double cellDegrees,
+                                 @Value("${geo.max-radius-km:100}") double maxRadiusKm) {
+        this.pincodeFile = pincodeFile;
+        this.cellDegrees = cellDegrees;
+        this.maxRadiusKm = maxRadiusKm;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!pincodeFile.exists()) {
+            log.warn("Pincode table {} not found; nearby-location suggestions are disabled", pincodeFile);
+            return;
+        }
+        Map<String, Point> points = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(pincodeFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (fields.length < 3) {
+                    continue;
+                }
+                try {
+                    String pincode = fields[0].trim();
+                    points.put(pincode, new Point(pincode,
+                            Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim())));
+                } catch (NumberFormatException e) {
+                    // Header row or malformed coordinates
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not read pincode table {}", pincodeFile, e);
+            return;
+        }
+        grid = Grid.build(points, cellDegrees);
+        log.info("Loaded {} pincode locations into {} grid cells", points.size(), grid.cells.size());
+    }
+
+    public boolean contains(String pincode) {
+        return grid.points.containsKey(pincode);
+    }
+
+    /**
+     * Up to {@code k} other pincodes within the configured radius of {@code pincode} that satisfy
+     * {@code accept}, nearest first. Empty when the pincode is not in the table.
+     */
+    public List<String> nearest(String pincode, int k, Predicate<String> accept) {
+        Grid current = grid;
+        Point origin = pincode == null ? null : current.points.get(pincode);
+        if (origin == null || k <= 0) {
+            return List.of();
+        }
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<Match> best = new PriorityQueue<>(k, (a, b) -> Double.compare(b.distanceKm, a.distanceKm));
+        int row = cell(origin.latitude);
+        int column = cell(origin.longitude);
+        for (int ring = 0; ring <= current.maxRing; ring++) {
+            if (best.size() == k && best.peek().distanceKm <= ringLowerBoundKm(origin, ring)) {
+                break;
+            }
+            if (ringLowerBoundKm(origin, ring) > maxRadiusKm) {
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                for (int c = column - ring; c <= column + ring; c++) {
+                    // Only the border of the square is new in this ring
+                    if (Math.abs(r - row) != ring && Math.abs(c - column) != ring) {
+                        continue;
+                    }
+                    for (Point point : current.cells.getOrDefault(key(r, c), List.of())) {
+                        if (point == origin) {
+                            continue;
+                        }
+                        double distance = distanceKm(origin, point);
+                        if (distance > maxRadiusKm) {
+                            continue;
+                        }
+                        if (best.size() == k && distance >= best.peek().distanceKm) {
+                            continue;
+                        }
+                        if (!accept.test(point.pincode)) {
+                            continue;
+                        }
+                        best.add(new Match(point.pincode, distance));
+                        if (best.size() > k) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+        }
+        List<Match> ordered = new ArrayList<>(best);
+        ordered.sort((a, b) -> Double.compare(a.distanceKm, b.distanceKm));
+        List<String> pincodes = new ArrayList<>(ordered.size());
+        ordered.forEach(match -> pincodes.add(match.pincode));
+        return Collections.unmodifiableList(pincodes);
+    }
+
+    /**
+     * Anything in ring {@code ring} or beyond is at least {@code ring - 1} whole cells away in
+     * latitude or in longitude (the origin may sit on the edge of its own cell); longitude degrees
+     * shrink towards the poles, hence the cosine of the widest latitude the ring reaches.
+     */
+    private double ringLowerBoundKm(Point origin, int ring) {
+        double span = Math.max(0, ring - 1) * cellDegrees;
+        double widestLatitude = Math.min(90, Math.abs(origin.latitude) + span);
+        return span * KM_PER_DEGREE * Math.cos(Math.toRadians(widestLatitude));
+    }
+
+    private int cell(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static double distanceKm(Point a, Point b) {
+        double dLat = Math.toRadians(b.latitude - a.latitude);
+        double dLon = Math.toRadians(b.longitude - a.longitude);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(a.latitude)) * Math.cos(Math.toRadians(b.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static final class Point {
+        private final String pincode;
+        private final double latitude;
+        private final double longitude;
+
+        private Point(String pincode, double latitude, double longitude) {
+            this.pincode = pincode;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
+    private static final class Match {
+        private final String pincode;
+        private final double distanceKm;
+
+        private Match(String pincode, double distanceKm) {
+            this.pincode = pincode;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    private static final class Grid {
+        private final Map<String, Point> points;
+        private final Map<Long, List<Point>> cells;
+        // Widest ring that can still reach a populated cell
+        private final int maxRing;
+
+        private Grid(Map<String, Point> points, Map<Long, List<Point>> cells, int maxRing) {
+            this.points = points;
+            this.cells = cells;
+            this.maxRing = maxRing;
+        }
+
+        private static Grid build(Map<String, Point> points, double cellDegrees) {
+            Map<Long, List<Point>> cells = new HashMap<>();
+            int minRow = Integer.MAX_VALUE, maxRow = Integer.MIN_VALUE;
+            int minColumn = Integer.MAX_VALUE, maxColumn = Integer.MIN_VALUE;
+            for (Point point : points.values()) {
+                int row = (int) Math.floor(point.latitude / cellDegrees);
+                int column = (int) Math.floor(point.longitude / cellDegrees);
+                cells.computeIfAbsent(key(row, column), ignored -> new ArrayList<>()).add(point);
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minColumn = Math.min(minColumn, column);
+                maxColumn = Math.max(maxColumn, column);
+            }
+            int maxRing = points.isEmpty() ? 0 : Math.max(maxRow - minRow, maxColumn - minColumn);
+            return new Grid(Map.copyOf(points), cells, maxRing);
+        }
+    }
+}
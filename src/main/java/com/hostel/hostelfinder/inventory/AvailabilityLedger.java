@@ -0,0 +1,196 @@
+package com.hostel.hostelfinder.inventory;
+
+import com.hostel.hostelfinder.datasource.ReadWriteRoutingDataSource;
+import com.hostel.hostelfinder.entity.AvailabilitySnapshot;
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.BookingEvent;
+import com.hostel.hostelfinder.repository.AvailabilitySnapshotRepository;
+import com.hostel.hostelfinder.repository.BookingEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only ledger of booking events with per-hostel nightly snapshots. Availability for a
+ * hostel is its latest snapshot plus the events recorded after it, so derived state such as
+ * {@link RoomInventory} can always be rebuilt from here after a restart or crash.
+ * <p>
+ * Snapshots are folded forward periodically, but only up to events older than
+ * {@code ledger.safety-lag}: identity ids are handed out before commit, so a newer id may
+ * become visible ahead of an older one still in flight.
+ */
+@Slf4j
+@Component
+public class AvailabilityLedger {
+
+    private final BookingEventRepository eventRepository;
+    private final AvailabilitySnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final int chunkSize;
+    private final Duration safetyLag;
+
+    public AvailabilityLedger(BookingEventRepository eventRepository,
+                              AvailabilitySnapshotRepository snapshotRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${ledger.replay-chunk-size:5000}") int chunkSize,
+                              @Value("${ledger.safety-lag:PT1M}") Duration safetyLag) {
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.safetyLag = safetyLag;
+    }
+
+    /**
+     * Records a booking event in the caller's transaction, so the ledger commits or rolls back
+     * together with the booking change itself.
+     */
+    public void append(Booking booking, BookingEvent.Type type) {
+        BookingEvent event = new BookingEvent();
+        event.setBookingId(booking.getId());
+        event.setHostelId(booking.getHostel().getId());
+        event.setType(type);
+        event.setCheckInDate(booking.getCheckInDate());
+        event.setCheckOutDate(booking.getCheckOutDate());
+        event.setNumberOfRooms(booking.getNumberOfRooms());
+        eventRepository.save(event);
+    }
+
+    /**
+     * Rooms booked per night for {@code days} nights from {@code from}, for every hostel with
+     * bookings, replayed from snapshots plus the event tail. Seeds the ledger from the bookings
+     * table the first time it runs against a database that predates it.
+     */
+    public Map<Long, int[]> replay(LocalDate from, int days) {
+        seedIfEmpty(from);
+        long fromDay = from.toEpochDay();
+        // Reservations are checked against this state, so it must not lag behind the primary
+        Map<Long, NightCounts> state = ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTemplate.execute(status -> {
+            Map<Long, AvailabilitySnapshot> snapshots = loadSnapshots();
+            Map<Long, NightCounts> counts = new HashMap<>();
+            snapshots.values().forEach(snapshot -> counts.put(snapshot.getHostelId(), decode(snapshot, fromDay)));
+            foldEvents(watermark(snapshots), Long.MAX_VALUE, snapshots, counts, hostelId -> new NightCounts(fromDay));
+            return counts;
+        }));
+        Map<Long, int[]> nights = new HashMap<>();
+        state.forEach((hostelId, counts) -> nights.put(hostelId, counts.window(days)));
+        return nights;
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.snapshot-interval:PT5M}",
+            initialDelayString = "${ledger.snapshot-interval:PT5M}")
+    public void compact() {
+        Long cutoff = eventRepository.findMaxIdBefore(LocalDateTime.now().minus(safetyLag));
+        if (cutoff == null) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        Integer written = transactionTemplate.execute(status -> {
+            Map<Long, AvailabilitySnapshot> snapshots = loadSnapshots();
+            long watermark = watermark(snapshots);
+            if (watermark >= cutoff) {
+                return 0;
+            }
+            // Only hostels with new events are rewritten; the rest just move to the new position
+            Map<Long, NightCounts> touched = new HashMap<>();
+            foldEvents(watermark, cutoff, snapshots, touched, hostelId -> {
+                AvailabilitySnapshot snapshot = snapshots.get(hostelId);
+                return snapshot == null ? new NightCounts(today.toEpochDay()) : decode(snapshot, today.toEpochDay());
+            });
+            LocalDateTime now = LocalDateTime.now();
+            touched.forEach((hostelId, counts) -> {
+                AvailabilitySnapshot snapshot = snapshots.computeIfAbsent(hostelId, id -> {
+                    AvailabilitySnapshot created = new AvailabilitySnapshot();
+                    created.setHostelId(id);
+                    return created;
+                });
+                snapshot.setBaseDate(today);
+                snapshot.setNights(counts.encode());
+                snapshot.setLastEventId(cutoff);
+                snapshot.setTakenAt(now);
+                snapshotRepository.save(snapshot);
+            });
+            snapshotRepository.advanceTo(cutoff);
+            return touched.size();
+        });
+        if (written != null && written > 0) {
+            log.info("Folded ledger up to event {} into {} availability snapshots in {} ms",
+                    cutoff, written, System.currentTimeMillis() - started);
+        }
+    }
+
+    private void seedIfEmpty(LocalDate from) {
+        if (eventRepository.count() > 0) {
+            return;
+        }
+        Integer seeded = transactionTemplate.execute(status ->
+                eventRepository.backfillFromBookings(from, LocalDateTime.now()));
+        if (seeded != null && seeded > 0) {
+            log.info("Seeded booking ledger with {} active bookings", seeded);
+        }
+    }
+
+    /**
+     * Applies events in ({@code afterId}, {@code uptoId}] that are newer than their hostel's
+     * snapshot, creating counters on first touch with {@code initial}.
+     */
+    private void foldEvents(long afterId, long uptoId, Map<Long, AvailabilitySnapshot> snapshots,
+                            Map<Long, NightCounts> counts, Function<Long, NightCounts> initial) {
+        List<BookingEvent> page;
+        long position = afterId;
+        do {
+            page = eventRepository.findPage(position, uptoId, PageRequest.of(0, chunkSize));
+            for (BookingEvent event : page) {
+                AvailabilitySnapshot snapshot = snapshots.get(event.getHostelId());
+                if (snapshot != null && event.getId() <= snapshot.getLastEventId()) {
+                    continue;
+                }
+                apply(counts.computeIfAbsent(event.getHostelId(), initial), event);
+            }
+            if (!page.isEmpty()) {
+                position = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == chunkSize);
+    }
+
+    private static void apply(NightCounts counts, BookingEvent event) {
+        int delta = event.getType().getSign() * event.getNumberOfRooms();
+        if (delta != 0) {
+            counts.add(event.getCheckInDate().toEpochDay(), event.getCheckOutDate().toEpochDay(), delta);
+        }
+    }
+
+    private Map<Long, AvailabilitySnapshot> loadSnapshots() {
+        return snapshotRepository.findAll().stream()
+                .collect(Collectors.toMap(AvailabilitySnapshot::getHostelId, Function.identity()));
+    }
+
+    // Every hostel with events up to the lowest snapshot position has a snapshot, so replay can start there
+    private static long watermark(Map<Long, AvailabilitySnapshot> snapshots) {
+        return snapshots.values().stream()
+                .mapToLong(AvailabilitySnapshot::getLastEventId)
+                .min()
+                .orElse(0);
+    }
+
+    private static NightCounts decode(AvailabilitySnapshot snapshot, long fromDay) {
+        return NightCounts.decode(snapshot.getBaseDate().toEpochDay(), snapshot.getNights(), fromDay);
+    }
+}
@@ -0,0 +1,280 @@
+package com.hostel.hostelfinder.inventory;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of booked stays for one hostel, as half-open night ranges sorted by check-in.
+ * The sorted arrays double as an implicit balanced tree (each range's middle element is its
+ * root) that records the latest check-out below every node, so overlap queries skip whole
+ * subtrees. Updates copy the arrays, which suits the read-mostly, rarely changing far future.
+ */
+final class BookingIntervals {
+
+    static final BookingIntervals EMPTY = new BookingIntervals(new long[0], new long[0], new int[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final int[] rooms;
+    // maxEnd[mid] is the latest end within the implicit subtree rooted at mid
+    private final long[] maxEnd;
+
+    private BookingIntervals(long[] starts, long[] ends, int[] rooms) {
+        this.starts = starts;
+        this.ends = ends;
+        this.rooms = rooms;
+        this.maxEnd = new long[starts.length];
+        index(0, starts.length);
+    }
+
+    /**
+     * Index over the given stays, in any order, built in one pass rather than by repeated inserts.
+     */
+    static BookingIntervals of(long[] starts, long[] ends, int[] rooms) {
+        Integer[] order = new Integer[starts.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+        long[] sortedStarts = new long[starts.length];
+        long[] sortedEnds = new long[starts.length];
+        int[] sortedRooms = new int[starts.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+            sortedRooms[i] = rooms[order[i]];
+        }
+        return new BookingIntervals(sortedStarts, sortedEnds, sortedRooms);
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    BookingIntervals with(long start, long end, int count) {
+        int at = upperBound(start);
+        int size = starts.length;
+        long[] newStarts = new long[size + 1];
+        long[] newEnds = new long[size + 1];
+        int[] newRooms = new int[size + 1];
+        System.arraycopy(starts, 0, newStarts, 0, at);
+        System.arraycopy(ends, 0, newEnds, 0, at);
+        System.arraycopy(rooms, 0, newRooms, 0, at);
+        newStarts[at] = start;
+        newEnds[at] = end;
+        newRooms[at] = count;
+        System.arraycopy(starts, at, newStarts, at + 1, size - at);
+        System.arraycopy(ends, at, newEnds, at + 1, size - at);
+        System.arraycopy(rooms, at, newRooms, at + 1, size - at);
+        return new BookingIntervals(newStarts, newEnds, newRooms);
+    }
+
+    BookingIntervals plus(BookingIntervals other) {
+        if (other.size() == 0) {
+            return this;
+        }
+        if (size() == 0) {
+            return other;
+        }
+        long[] allStarts = Arrays.copyOf(starts, size() + other.size());
+        long[] allEnds = Arrays.copyOf(ends, size() + other.size());
+        int[] allRooms = Arrays.copyOf(rooms, size() + other.size());
+        System.arraycopy(other.starts, 0, allStarts, size(), other.size());
+        System.arraycopy(other.ends, 0, allEnds, size(), other.size());
+        System.arraycopy(other.rooms, 0, allRooms, size(), other.size());
+        return of(allStarts, allEnds, allRooms);
+    }
+
+    /**
+     * Drops one stay with exactly these nights and rooms; unchanged if there is none.
+     */
+    BookingIntervals without(long start, long end, int count) {
+        for (int i = lowerBound(start); i < starts.length && starts[i] == start; i++) {
+            if (ends[i] == end && rooms[i] == count) {
+                return removeAt(i);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Only the stays that still have a night on or after {@code day}.
+     */
+    BookingIntervals endingAfter(long day) {
+        int kept = 0;
+        for (long end : ends) {
+            if (end > day) {
+                kept++;
+            }
+        }
+        if (kept == starts.length) {
+            return this;
+        }
+        long[] newStarts = new long[kept];
+        long[] newEnds = new long[kept];
+        int[] newRooms = new int[kept];
+        int next = 0;
+        for (int i = 0; i < starts.length; i++) {
+            if (ends[i] > day) {
+                newStarts[next] = starts[i];
+                newEnds[next] = ends[i];
+                newRooms[next] = rooms[i];
+                next++;
+            }
+        }
+        return new BookingIntervals(newStarts, newEnds, newRooms);
+    }
+
+    /**
+     * Rooms of every stay sharing at least one night with [{@code from}, {@code to}); an upper
+     * bound on the busiest night, as the database aggregate computes it.
+     */
+    long sumOverlapping(long from, long to) {
+        Overlaps overlaps = new Overlaps();
+        visit(0, starts.length, from, to, overlaps);
+        long sum = 0;
+        for (int i = 0; i < overlaps.size; i++) {
+            sum += rooms[overlaps.indexes[i]];
+        }
+        return sum;
+    }
+
+    /**
+     * Highest number of rooms booked on any night in [{@code from}, {@code to}).
+     */
+    int peak(long from, long to) {
+        Overlaps overlaps = new Overlaps();
+        visit(0, starts.length, from, to, overlaps);
+        if (overlaps.size == 0) {
+            return 0;
+        }
+        // Each stay becomes a start and an end boundary packed as (night offset, start flag, rooms),
+        // so a single sort orders them by night with check-outs ahead of check-ins
+        long[] boundaries = new long[overlaps.size * 2];
+        for (int i = 0; i < overlaps.size; i++) {
+            int index = overlaps.indexes[i];
+            long first = Math.max(starts[index], from) - from;
+            long last = Math.min(ends[index], to) - from;
+            boundaries[2 * i] = (first << 32) | (1L << 31) | rooms[index];
+            boundaries[2 * i + 1] = (last << 32) | rooms[index];
+        }
+        Arrays.sort(boundaries);
+        int booked = 0;
+        int peak = 0;
+        for (long boundary : boundaries) {
+            int count = (int) (boundary & 0x7fffffffL);
+            if ((boundary & (1L << 31)) != 0) {
+                booked += count;
+                peak = Math.max(peak, booked);
+            } else {
+                booked -= count;
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Adds the rooms booked on each night in [{@code from}, {@code to}) to
+     * {@code nights[offset + night - from]}.
+     */
+    void addNightly(long from, long to, int[] nights, int offset) {
+        Overlaps overlaps = new Overlaps();
+        visit(0, starts.length, from, to, overlaps);
+        if (overlaps.size == 0) {
+            return;
+        }
+        // Difference array over the window: +rooms on the first night, -rooms after the last
+        int[] change = new int[(int) (to - from) + 1];
+        for (int i = 0; i < overlaps.size; i++) {
+            int index = overlaps.indexes[i];
+            change[(int) (Math.max(starts[index], from) - from)] += rooms[index];
+            change[(int) (Math.min(ends[index], to) - from)] -= rooms[index];
+        }
+        int booked = 0;
+        for (int night = 0; night < change.length - 1; night++) {
+            booked += change[night];
+            nights[offset + night] += booked;
+        }
+    }
+
+    private static final class Overlaps {
+        private int[] indexes = new int[16];
+        private int size;
+
+        private void add(int index) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+            indexes[size++] = index;
+        }
+    }
+
+    private void visit(int low, int high, long from, long to, Overlaps overlaps) {
+        if (low >= high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        if (maxEnd[mid] <= from) {
+            return;
+        }
+        visit(low, mid, from, to, overlaps);
+        if (starts[mid] >= to) {
+            return;
+        }
+        if (ends[mid] > from) {
+            overlaps.add(mid);
+        }
+        visit(mid + 1, high, from, to, overlaps);
+    }
+
+    private long index(int low, int high) {
+        if (low >= high) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (low + high) >>> 1;
+        long latest = Math.max(ends[mid], Math.max(index(low, mid), index(mid + 1, high)));
+        maxEnd[mid] = latest;
+        return latest;
+    }
+
+    private BookingIntervals removeAt(int at) {
+        int size = starts.length;
+        long[] newStarts = new long[size - 1];
+        long[] newEnds = new long[size - 1];
+        int[] newRooms = new int[size - 1];
+        System.arraycopy(starts, 0, newStarts, 0, at);
+        System.arraycopy(ends, 0, newEnds, 0, at);
+        System.arraycopy(rooms, 0, newRooms, 0, at);
+        System.arraycopy(starts, at + 1, newStarts, at, size - at - 1);
+        System.arraycopy(ends, at + 1, newEnds, at, size - at - 1);
+        System.arraycopy(rooms, at + 1, newRooms, at, size - at - 1);
+        return new BookingIntervals(newStarts, newEnds, newRooms);
+    }
+
+    private int lowerBound(long start) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < start) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long start) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= start) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
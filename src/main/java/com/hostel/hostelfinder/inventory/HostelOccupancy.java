@@ -0,0 +1,117 @@
+package com.hostel.hostelfinder.inventory;
+
+import java.util.Arrays;
+
+/**
+ * Rooms booked per night for one hostel, indexed by epoch day relative to {@code baseDay}.
+ * Slot {@code i} holds the rooms taken on the night starting at {@code baseDay + i}.
+ * <p>
+ * Nights from {@code farFromDay} (the horizon end when this was created) onwards are answered
+ * from {@link BookingIntervals} instead: the array zero-fills nights as it rolls forward, so it
+ * only knows about nights that were inside the horizon when it was built.
+ */
+class HostelOccupancy {
+
+    private final int[] nights;
+    private final long farFromDay;
+    private long baseDay;
+    private BookingIntervals far = BookingIntervals.EMPTY;
+
+    HostelOccupancy(int horizonDays, long baseDay) {
+        this.nights = new int[horizonDays];
+        this.baseDay = baseDay;
+        this.farFromDay = baseDay + horizonDays;
+    }
+
+    synchronized int peak(long today, long fromDay, long toDay) {
+        roll(today);
+        int peak = 0;
+        long nearEnd = Math.min(toDay, farFromDay);
+        for (long day = Math.max(fromDay, baseDay); day < nearEnd; day++) {
+            peak = Math.max(peak, nights[(int) (day - baseDay)]);
+        }
+        if (toDay > farFromDay) {
+            peak = Math.max(peak, far.peak(Math.max(fromDay, farFromDay), toDay));
+        }
+        return peak;
+    }
+
+    /**
+     * Rooms booked on each night in [{@code fromDay}, {@code toDay}); nights before today are zero.
+     */
+    synchronized int[] booked(long today, long fromDay, long toDay) {
+        roll(today);
+        int[] counts = new int[(int) (toDay - fromDay)];
+        long nearEnd = Math.min(toDay, farFromDay);
+        for (long day = Math.max(fromDay, baseDay); day < nearEnd; day++) {
+            counts[(int) (day - fromDay)] = nights[(int) (day - baseDay)];
+        }
+        if (toDay > farFromDay) {
+            long farFrom = Math.max(fromDay, farFromDay);
+            far.addNightly(farFrom, toDay, counts, (int) (farFrom - fromDay));
+        }
+        return counts;
+    }
+
+    synchronized boolean tryAdd(long today, long fromDay, long toDay, int rooms, int capacity) {
+        if (peak(today, fromDay, toDay) + rooms > capacity) {
+            return false;
+        }
+        add(today, fromDay, toDay, rooms);
+        return true;
+    }
+
+    /**
+     * Adds or, with a negative {@code delta}, removes one stay. A removal must repeat the nights
+     * and rooms of the stay it undoes.
+     */
+    synchronized void add(long today, long fromDay, long toDay, int delta) {
+        roll(today);
+        long end = Math.min(toDay, farFromDay);
+        for (long day = Math.max(fromDay, baseDay); day < end; day++) {
+            int slot = (int) (day - baseDay);
+            nights[slot] = Math.max(0, nights[slot] + delta);
+        }
+        if (toDay > farFromDay) {
+            far = delta > 0 ? far.with(fromDay, toDay, delta) : far.without(fromDay, toDay, -delta);
+        }
+    }
+
+    /**
+     * Adds {@code counts[i]} rooms to the night starting {@code fromDay + i}; nights past the
+     * array's part of the horizon are ignored.
+     */
+    synchronized void addAll(long today, long fromDay, int[] counts) {
+        roll(today);
+        for (int i = 0; i < counts.length; i++) {
+            long day = fromDay + i;
+            if (day >= baseDay && day < farFromDay) {
+                int slot = (int) (day - baseDay);
+                nights[slot] = Math.max(0, nights[slot] + counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds stays reaching past {@code farFromDay} to the far-future index in one rebuild.
+     */
+    synchronized void addFar(BookingIntervals stays) {
+        far = far.plus(stays);
+    }
+
+    private void roll(long today) {
+        long shift = today - baseDay;
+        if (shift <= 0) {
+            return;
+        }
+        if (shift >= nights.length) {
+            Arrays.fill(nights, 0);
+        } else {
+            int keep = nights.length - (int) shift;
+            System.arraycopy(nights, (int) shift, nights, 0, keep);
+            Arrays.fill(nights, keep, nights.length, 0);
+        }
+        baseDay = today;
+        far = far.endingAfter(today);
+    }
+}
@@ -0,0 +1,87 @@
+package com.hostel.hostelfinder.inventory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable rooms-per-night counter from {@code baseDay} onwards, used while folding ledger
+ * events. Nights before {@code baseDay} are ignored; the array grows to the latest checkout seen.
+ */
+class NightCounts {
+
+    private final long baseDay;
+    private int[] counts;
+
+    NightCounts(long baseDay) {
+        this(baseDay, new int[0]);
+    }
+
+    private NightCounts(long baseDay, int[] counts) {
+        this.baseDay = baseDay;
+        this.counts = counts;
+    }
+
+    /**
+     * Counts stored from {@code storedBaseDay}, re-based to {@code fromDay}.
+     */
+    static NightCounts decode(long storedBaseDay, byte[] bytes, long fromDay) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int stored = bytes.length / Integer.BYTES;
+        long skip = Math.max(0, fromDay - storedBaseDay);
+        int[] counts = new int[(int) Math.max(0, stored - skip) + (int) Math.max(0, storedBaseDay - fromDay)];
+        for (int i = 0; i < stored; i++) {
+            int value = buffer.getInt();
+            long slot = storedBaseDay + i - fromDay;
+            if (slot >= 0) {
+                counts[(int) slot] = value;
+            }
+        }
+        return new NightCounts(fromDay, counts);
+    }
+
+    byte[] encode() {
+        int length = counts.length;
+        while (length > 0 && counts[length - 1] <= 0) {
+            length--;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length * Integer.BYTES);
+        for (int i = 0; i < length; i++) {
+            buffer.putInt(Math.max(0, counts[i]));
+        }
+        return buffer.array();
+    }
+
+    void add(long fromDay, long toDay, int delta) {
+        long start = Math.max(fromDay, baseDay);
+        if (toDay <= start) {
+            return;
+        }
+        int end = (int) (toDay - baseDay);
+        if (end > counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(end, counts.length * 2));
+        }
+        for (int slot = (int) (start - baseDay); slot < end; slot++) {
+            counts[slot] += delta;
+        }
+    }
+
+    int peak(long fromDay, long toDay) {
+        int peak = 0;
+        long end = Math.min(toDay, baseDay + counts.length);
+        for (long day = Math.max(fromDay, baseDay); day < end; day++) {
+            peak = Math.max(peak, counts[(int) (day - baseDay)]);
+        }
+        return peak;
+    }
+
+    /**
+     * {@code days} nights starting at {@code baseDay}, padded with zeros.
+     */
+    int[] window(int days) {
+        int[] window = new int[days];
+        for (int i = 0; i < Math.min(days, counts.length); i++) {
+            window[i] = Math.max(0, counts[i]);
+        }
+        return window;
+    }
+}
@@ -0,0 +1,318 @@
+package com.hostel.hostelfinder.inventory;
+
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.repository.BookedRoomsView;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory room occupancy for every hostel: per-night counts over a rolling horizon starting
+ * today, plus an interval index for stays reaching past it. Derived state only: it is replayed
+ * from the {@link AvailabilityLedger} and the far-future bookings at startup and kept in step by
+ * the booking service, so availability checks need no query.
+ */
+@Slf4j
+@Component
+public class RoomInventory {
+
+    public static final Set<Booking.BookingStatus> ACTIVE_STATUSES =
+            EnumSet.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+
+    private final AvailabilityLedger availabilityLedger;
+    private final BookingRepository bookingRepository;
+    private final int horizonDays;
+    // Writers hold the read side; only the swap at the end of a rebuild takes the write side
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Map<Long, HostelOccupancy> occupancies = new ConcurrentHashMap<>();
+    // Non-null while a rebuild runs: what happened to the live map meanwhile, to carry over at the swap
+    private Journal journal;
+    private volatile boolean ready;
+
+    public RoomInventory(AvailabilityLedger availabilityLedger,
+                         BookingRepository bookingRepository,
+                         @Value("${inventory.horizon-days:365}") int horizonDays) {
+        this.availabilityLedger = availabilityLedger;
+        this.bookingRepository = bookingRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Replays the inventory into a fresh map while the current one keeps serving, then swaps it in.
+     * Rooms reserved during the replay are carried over at the swap; a booking that committed just
+     * before the replay may then be counted twice, and a cancellation during it is only picked up
+     * by the next rebuild, both of which err on the safe side.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        Journal changes = new Journal();
+        swapLock.writeLock().lock();
+        try {
+            journal = changes;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        Map<Long, HostelOccupancy> rebuilt = new ConcurrentHashMap<>();
+        int farStayCount;
+        try {
+            availabilityLedger.replay(today, horizonDays).forEach((hostelId, nights) ->
+                    occupancy(rebuilt, hostelId).addAll(today.toEpochDay(), today.toEpochDay(), nights));
+            List<BookedRoomsView> farStays = bookingRepository.findStaysEndingAfter(today.plusDays(horizonDays), ACTIVE_STATUSES);
+            farStays.stream()
+                    .collect(Collectors.groupingBy(BookedRoomsView::getHostelId))
+                    .forEach((hostelId, stays) -> occupancy(rebuilt, hostelId).addFar(BookingIntervals.of(
+                            stays.stream().mapToLong(stay -> stay.getCheckInDate().toEpochDay()).toArray(),
+                            stays.stream().mapToLong(stay -> stay.getCheckOutDate().toEpochDay()).toArray(),
+                            stays.stream().mapToInt(BookedRoomsView::getNumberOfRooms).toArray())));
+            farStayCount = farStays.size();
+        } catch (RuntimeException e) {
+            swapLock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            long todayDay = LocalDate.now().toEpochDay();
+            for (Reservation reservation : changes.reservations) {
+                occupancy(rebuilt, reservation.hostelId).add(todayDay, reservation.fromDay, reservation.toDay, reservation.rooms);
+                reservation.target = rebuilt;
+            }
+            changes.evicted.forEach(rebuilt::remove);
+            occupancies = rebuilt;
+            journal = null;
+            ready = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Room inventory replayed from the booking ledger for {} hostels, with {} stays past the horizon "
+                        + "and {} reservations carried over, in {} ms",
+                rebuilt.size(), farStayCount, changes.reservations.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Highest number of rooms booked on any night of the stay.
+     */
+    public int peakBooked(Long hostelId, LocalDate checkIn, LocalDate checkOut) {
+        HostelOccupancy occupancy = occupancies.get(hostelId);
+        if (occupancy == null) {
+            return 0;
+        }
+        return occupancy.peak(LocalDate.now().toEpochDay(), checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    /**
+     * Rooms booked on each night from {@code from} up to {@code to} for every given hostel, read
+     * from memory in one pass. Hostels without bookings get all-zero rows.
+     */
+    public Map<Long, int[]> bookedNights(Collection<Long> hostelIds, LocalDate from, LocalDate to) {
+        long today = LocalDate.now().toEpochDay();
+        int nights = (int) (to.toEpochDay() - from.toEpochDay());
+        Map<Long, HostelOccupancy> current = occupancies;
+        Map<Long, int[]> booked = new HashMap<>();
+        for (Long hostelId : hostelIds) {
+            HostelOccupancy occupancy = current.get(hostelId);
+            booked.put(hostelId, occupancy == null
+                    ? new int[nights]
+                    : occupancy.booked(today, from.toEpochDay(), to.toEpochDay()));
+        }
+        return booked;
+    }
+
+    public boolean canBook(Long hostelId, int totalRooms, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        return peakBooked(hostelId, checkIn, checkOut) + rooms <= totalRooms;
+    }
+
+    /**
+     * Atomically checks and takes {@code rooms} for every night of the stay. When called inside a
+     * transaction the rooms are handed back if that transaction does not commit.
+     */
+    public boolean tryReserve(Long hostelId, int totalRooms, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        requireStay(checkIn, checkOut, rooms);
+        Reservation reservation;
+        swapLock.readLock().lock();
+        try {
+            if (!occupancy(occupancies, hostelId).tryAdd(LocalDate.now().toEpochDay(),
+                    checkIn.toEpochDay(), checkOut.toEpochDay(), rooms, totalRooms)) {
+                return false;
+            }
+            reservation = record(hostelId, checkIn, checkOut, rooms);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        releaseOnRollback(reservation);
+        return true;
+    }
+
+    /**
+     * Records a stay without checking capacity, e.g. one that is already booked. Rolled back
+     * together with the surrounding transaction.
+     */
+    public void reserve(Long hostelId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        requireStay(checkIn, checkOut, rooms);
+        Reservation reservation;
+        swapLock.readLock().lock();
+        try {
+            occupancy(occupancies, hostelId).add(LocalDate.now().toEpochDay(),
+                    checkIn.toEpochDay(), checkOut.toEpochDay(), rooms);
+            reservation = record(hostelId, checkIn, checkOut, rooms);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        releaseOnRollback(reservation);
+    }
+
+    // Counts are clamped at zero per night, so a negative reservation would free other bookings' rooms
+    private static void requireStay(LocalDate checkIn, LocalDate checkOut, int rooms) {
+        if (rooms < 1 || !checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("A reservation needs at least one room and one night");
+        }
+    }
+
+    private Reservation record(Long hostelId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        Reservation reservation = new Reservation(hostelId, checkIn.toEpochDay(), checkOut.toEpochDay(), rooms, occupancies);
+        if (journal != null) {
+            journal.reservations.add(reservation);
+        }
+        return reservation;
+    }
+
+    private void releaseOnRollback(Reservation reservation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        undo(reservation);
+                    }
+                }
+            });
+        }
+    }
+
+    // Takes the rooms back out of whichever map holds them now, and out of a running rebuild's
+    // carry-over; a map that was replaced before the rollback never saw them and is left alone
+    private void undo(Reservation reservation) {
+        swapLock.readLock().lock();
+        try {
+            if (journal != null) {
+                journal.reservations.remove(reservation);
+            }
+            HostelOccupancy occupancy = reservation.target.get(reservation.hostelId);
+            if (occupancy != null) {
+                occupancy.add(LocalDate.now().toEpochDay(), reservation.fromDay, reservation.toDay, -reservation.rooms);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Frees the rooms once the surrounding transaction commits, or immediately outside one.
+     */
+    public void releaseAfterCommit(Long hostelId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(hostelId, checkIn, checkOut, rooms);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(hostelId, checkIn, checkOut, rooms);
+            }
+        });
+    }
+
+    public void release(Long hostelId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        swapLock.readLock().lock();
+        try {
+            occupancy(occupancies, hostelId).add(LocalDate.now().toEpochDay(),
+                    checkIn.toEpochDay(), checkOut.toEpochDay(), -rooms);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops a deleted hostel once the surrounding transaction commits, or immediately outside one,
+     * so a rolled-back delete keeps its bookings.
+     */
+    public void evictAfterCommit(Long hostelId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(hostelId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(hostelId);
+            }
+        });
+    }
+
+    public void evict(Long hostelId) {
+        swapLock.readLock().lock();
+        try {
+            occupancies.remove(hostelId);
+            if (journal != null) {
+                journal.evicted.add(hostelId);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private HostelOccupancy occupancy(Map<Long, HostelOccupancy> map, Long hostelId) {
+        return map.computeIfAbsent(hostelId,
+                id -> new HostelOccupancy(horizonDays, LocalDate.now().toEpochDay()));
+    }
+
+    private static final class Journal {
+        private final Set<Reservation> reservations = ConcurrentHashMap.newKeySet();
+        private final Set<Long> evicted = ConcurrentHashMap.newKeySet();
+    }
+
+    // One reservation and the map it currently lives in, so a rollback undoes it exactly once
+    private static final class Reservation {
+        private final Long hostelId;
+        private final long fromDay;
+        private final long toDay;
+        private final int rooms;
+        private volatile Map<Long, HostelOccupancy> target;
+
+        private Reservation(Long hostelId, long fromDay, long toDay, int rooms, Map<Long, HostelOccupancy> target) {
+            this.hostelId = hostelId;
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.rooms = rooms;
+            this.target = target;
+        }
+    }
+}
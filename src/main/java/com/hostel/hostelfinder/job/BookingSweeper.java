@@ -0,0 +1,183 @@
+package com.hostel.hostelfinder.job;
+
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.BookingEvent;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.inventory.AvailabilityLedger;
+import com.hostel.hostelfinder.inventory.RoomInventory;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background sweep that completes checked-out bookings and cancels PENDING bookings whose stay
+ * is over. When {@code bookings.pending-hold} is set it also expires PENDING bookings older than
+ * that hold window, handing their rooms back. Works through candidates in id-ordered chunks, each
+ * in its own short transaction, so it never holds locks the booking path would wait on.
+ */
+@Slf4j
+@Component
+public class BookingSweeper {
+
+    private final BookingRepository bookingRepository;
+    private final HostelRepository hostelRepository;
+    private final RoomInventory roomInventory;
+    private final AvailabilityLedger availabilityLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int maxChunks;
+    private final Duration pendingHold;
+    private LocalDate availabilityShownFor;
+
+    public BookingSweeper(BookingRepository bookingRepository,
+                          HostelRepository hostelRepository,
+                          RoomInventory roomInventory,
+                          AvailabilityLedger availabilityLedger,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${bookings.sweeper.chunk-size:200}") int chunkSize,
+                          @Value("${bookings.sweeper.max-chunks-per-run:50}") int maxChunks,
+                          @Value("${bookings.sweeper.transaction-timeout:PT5S}") Duration transactionTimeout,
+                          @Value("${bookings.pending-hold:PT0S}") Duration pendingHold) {
+        this.bookingRepository = bookingRepository;
+        this.hostelRepository = hostelRepository;
+        this.roomInventory = roomInventory;
+        this.availabilityLedger = availabilityLedger;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) transactionTimeout.toSeconds());
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        this.pendingHold = pendingHold;
+    }
+
+    @Scheduled(fixedDelayString = "${bookings.sweeper.interval:PT5M}",
+            initialDelayString = "${bookings.sweeper.interval:PT5M}")
+    public void sweep() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(availabilityShownFor)) {
+            refreshTonight(today);
+        }
+        sweep("completed", Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED,
+                BookingEvent.Type.COMPLETED, false,
+                afterId -> bookingRepository.findIdsCheckedOutBy(Booking.BookingStatus.CONFIRMED, today,
+                        afterId, PageRequest.of(0, chunkSize)));
+        // Never confirmed and the stay is over, so there is nothing left to hold the rooms for
+        sweep("lapsed", Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED,
+                BookingEvent.Type.CANCELLED, false,
+                afterId -> bookingRepository.findIdsCheckedOutBy(Booking.BookingStatus.PENDING, today,
+                        afterId, PageRequest.of(0, chunkSize)));
+        if (pendingHold.isZero() || pendingHold.isNegative()) {
+            // Expiry before checkout is opt-in: until then PENDING bookings keep their rooms
+            return;
+        }
+        LocalDateTime heldSince = LocalDateTime.now().minus(pendingHold);
+        sweep("expired", Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED,
+                BookingEvent.Type.CANCELLED, true,
+                afterId -> bookingRepository.findIdsCreatedBefore(Booking.BookingStatus.PENDING, heldSince,
+                        afterId, PageRequest.of(0, chunkSize)));
+    }
+
+    /**
+     * Brings Hostel.availableRooms, the rooms free tonight, forward to a new day for hostels with
+     * guests arriving or leaving today; every other hostel's count carries over unchanged.
+     */
+    private void refreshTonight(LocalDate today) {
+        List<Long> hostelIds = new ArrayList<>(new TreeSet<>(
+                bookingRepository.findHostelIdsArrivingOrLeaving(today, RoomInventory.ACTIVE_STATUSES)));
+        for (int from = 0; from < hostelIds.size(); from += chunkSize) {
+            List<Long> chunk = hostelIds.subList(from, Math.min(from + chunkSize, hostelIds.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                hostelRepository.refreshAvailableRooms(chunk, today, RoomInventory.ACTIVE_STATUSES, LocalDateTime.now());
+                eventPublisher.publishEvent(HostelChangedEvent.updated(chunk));
+            });
+        }
+        availabilityShownFor = today;
+        if (!hostelIds.isEmpty()) {
+            log.info("Refreshed tonight's free rooms for {} hostels", hostelIds.size());
+        }
+    }
+
+    private void sweep(String transition, Booking.BookingStatus from, Booking.BookingStatus to,
+                       BookingEvent.Type eventType, boolean freesFutureNights, Function<Long, List<Long>> candidates) {
+        Counter swept = meterRegistry.counter("hostelfinder.bookings.swept", "transition", transition);
+        Counter skipped = meterRegistry.counter("hostelfinder.bookings.sweep.skipped", "transition", transition);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long afterId = 0;
+        int total = 0;
+        int chunks = 0;
+        List<Long> ids;
+        do {
+            ids = candidates.apply(afterId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            List<Long> chunk = ids;
+            Integer done = transactionTemplate.execute(status ->
+                    transitionChunk(chunk, from, to, eventType, freesFutureNights));
+            int count = done == null ? 0 : done;
+            swept.increment(count);
+            // Locked by a concurrent booking transaction or already moved on; picked up next run if still due
+            skipped.increment(chunk.size() - count);
+            total += count;
+        } while (ids.size() == chunkSize && ++chunks < maxChunks);
+        sample.stop(meterRegistry.timer("hostelfinder.bookings.sweep", "transition", transition));
+        if (total > 0) {
+            log.info("Booking sweep: {} bookings {}", total, transition);
+        }
+        if (chunks == maxChunks) {
+            log.warn("Booking sweep for {} stopped after {} chunks; the rest is left for the next run", transition, chunks);
+        }
+    }
+
+    private int transitionChunk(List<Long> ids, Booking.BookingStatus from, Booking.BookingStatus to,
+                                BookingEvent.Type eventType, boolean freesFutureNights) {
+        List<Booking> locked = bookingRepository.lockByIdInAndStatus(ids, from);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.transitionAll(locked.stream().map(Booking::getId).collect(Collectors.toList()),
+                from, to, now);
+
+        // Hostel rows are updated in id order so concurrent sweeps cannot deadlock on them
+        Set<Long> hostelIds = new TreeSet<>();
+        for (Booking booking : locked) {
+            Long hostelId = booking.getHostel().getId();
+            availabilityLedger.append(booking, eventType);
+            hostelIds.add(hostelId);
+            if (freesFutureNights) {
+                roomInventory.releaseAfterCommit(hostelId, booking.getCheckInDate(),
+                        booking.getCheckOutDate(), booking.getNumberOfRooms());
+            }
+        }
+        hostelRepository.refreshAvailableRooms(hostelIds, LocalDate.now(), RoomInventory.ACTIVE_STATUSES, now);
+        eventPublisher.publishEvent(HostelChangedEvent.updated(hostelIds));
+        return locked.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.hostel.hostelfinder.metrics;
+
+import com.hostel.hostelfinder.exception.AIServiceException;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.ResourceNotFoundException;
+import com.hostel.hostelfinder.exception.RoomsUnavailableException;
+import com.hostel.hostelfinder.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Times service calls, tagging each sample with the operation and how it ended, so the same
+ * timer yields both latency and per-outcome counts.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+
+    public static final String BOOKINGS = "hostelfinder.bookings";
+    public static final String SEARCH = "hostelfinder.search";
+    public static final String AI = "hostelfinder.ai";
+    public static final String ANALYTICS = "hostelfinder.analytics";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T record(String name, String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof RoomsUnavailableException) {
+            return "not_enough_rooms";
+        }
+        if (e instanceof BadRequestException) {
+            return "validation_failure";
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof AIServiceException) {
+            return "ai_unavailable";
+        }
+        if (e instanceof ServiceUnavailableException) {
+            return "unavailable";
+        }
+        return "error";
+    }
+}
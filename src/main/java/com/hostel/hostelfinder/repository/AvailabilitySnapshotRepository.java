@@ -0,0 +1,16 @@
+package com.hostel.hostelfinder.repository;
+
+import com.hostel.hostelfinder.entity.AvailabilitySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AvailabilitySnapshotRepository extends JpaRepository<AvailabilitySnapshot, Long> {
+
+    // Hostels without events since their snapshot are still exact at the new position
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AvailabilitySnapshot s SET s.lastEventId = :lastEventId WHERE s.lastEventId < :lastEventId")
+    int advanceTo(Long lastEventId);
+}
@@ -0,0 +1,10 @@
+package com.hostel.hostelfinder.repository;
+
+import java.time.LocalDate;
+
+public interface BookedRoomsView {
+    Long getHostelId();
+    LocalDate getCheckInDate();
+    LocalDate getCheckOutDate();
+    Integer getNumberOfRooms();
+}
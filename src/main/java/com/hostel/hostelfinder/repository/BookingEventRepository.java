@@ -0,0 +1,30 @@
+package com.hostel.hostelfinder.repository;
+
+import com.hostel.hostelfinder.entity.BookingEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    @Query("SELECT e FROM BookingEvent e WHERE e.id > :afterId AND e.id <= :uptoId ORDER BY e.id")
+    List<BookingEvent> findPage(Long afterId, Long uptoId, Pageable pageable);
+
+    @Query("SELECT MAX(e.id) FROM BookingEvent e WHERE e.occurredAt < :before")
+    Long findMaxIdBefore(LocalDateTime before);
+
+    // One-off seeding of the ledger from bookings that predate it
+    @Modifying
+    @Query(value = "INSERT INTO booking_events (booking_id, hostel_id, type, check_in_date, check_out_date, number_of_rooms, occurred_at) " +
+            "SELECT b.id, b.hostel_id, 'CREATED', b.check_in_date, b.check_out_date, b.number_of_rooms, :now FROM bookings b " +
+            "WHERE b.status IN ('PENDING', 'CONFIRMED') AND b.check_out_date > :from " +
+            "AND NOT EXISTS (SELECT 1 FROM booking_events e WHERE e.booking_id = b.id)", nativeQuery = true)
+    int backfillFromBookings(LocalDate from, LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package com.hostel.hostelfinder.repository;
+
+import com.hostel.hostelfinder.entity.Booking;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface BookingExportRepository {
+
+    /**
+     * A hostel's bookings whose stays overlap [from, to), either bound optional, in id order.
+     * Must be consumed inside a transaction, which keeps the cursor open.
+     */
+    Stream<BookingExportView> streamForExport(Long hostelId, LocalDate from, LocalDate to,
+                                              Collection<Booking.BookingStatus> statuses);
+}
@@ -0,0 +1,57 @@
+package com.hostel.hostelfinder.repository;
+
+import com.hostel.hostelfinder.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Runs the export query outside the derived repository so its fetch size can be configured.
+ * Connector/J only streams row by row with a fetch size of Integer.MIN_VALUE; any other value
+ * buffers the whole result set. Other drivers, such as the H2 used in tests, reject that value.
+ */
+class BookingExportRepositoryImpl implements BookingExportRepository {
+
+    // Stays overlap when each starts before the other ends
+    private static final String EXPORT_QUERY = "SELECT b.id, u.id, u.fullName, h.id, h.name, b.checkInDate, "
+            + "b.checkOutDate, b.numberOfRooms, b.totalPrice, b.status, b.createdAt "
+            + "FROM Booking b JOIN b.user u JOIN b.hostel h WHERE h.id = :hostelId AND b.status IN :statuses "
+            + "AND (:to IS NULL OR b.checkInDate < :to) AND (:from IS NULL OR b.checkOutDate > :from) ORDER BY b.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${bookings.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    @Override
+    public Stream<BookingExportView> streamForExport(Long hostelId, LocalDate from, LocalDate to,
+                                                     Collection<Booking.BookingStatus> statuses) {
+        return entityManager.createQuery(EXPORT_QUERY, Tuple.class)
+                .setParameter("hostelId", hostelId)
+                .setParameter("statuses", statuses)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(row -> new ExportRow(row.get(0, Long.class), row.get(1, Long.class), row.get(2, String.class),
+                        row.get(3, Long.class), row.get(4, String.class), row.get(5, LocalDate.class),
+                        row.get(6, LocalDate.class), row.get(7, Integer.class), row.get(8, BigDecimal.class),
+                        row.get(9, Booking.BookingStatus.class), row.get(10, LocalDateTime.class)));
+    }
+
+    private record ExportRow(Long getId, Long getUserId, String getUserName, Long getHostelId, String getHostelName,
+                             LocalDate getCheckInDate, LocalDate getCheckOutDate, Integer getNumberOfRooms,
+                             BigDecimal getTotalPrice, Booking.BookingStatus getStatus, LocalDateTime getCreatedAt)
+            implements BookingExportView {
+    }
+}
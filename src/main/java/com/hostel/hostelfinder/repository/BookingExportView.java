@@ -0,0 +1,21 @@
+package com.hostel.hostelfinder.repository;
+
+import com.hostel.hostelfinder.entity.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface BookingExportView {
+    Long getId();
+    Long getUserId();
+    String getUserName();
+    Long getHostelId();
+    String getHostelName();
+    LocalDate getCheckInDate();
+    LocalDate getCheckOutDate();
+    Integer getNumberOfRooms();
+    BigDecimal getTotalPrice();
+    Booking.BookingStatus getStatus();
+    LocalDateTime getCreatedAt();
+}
@@ -1,21 +1,63 @@
 package com.hostel.hostelfinder.repository;
 
 import com.hostel.hostelfinder.entity.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingExportRepository {
+    @EntityGraph(attributePaths = {"user", "hostel"})
     List<Booking> findByUserId(Long userId);
-    
+
+    @EntityGraph(attributePaths = {"user", "hostel"})
     List<Booking> findByHostelId(Long hostelId);
-    
-    @Query("SELECT b FROM Booking b WHERE b.hostel.id = :hostelId AND b.status = 'CONFIRMED' AND ((b.checkInDate BETWEEN :checkIn AND :checkOut) OR (b.checkOutDate BETWEEN :checkIn AND :checkOut))")
-    List<Booking> findOverlappingBookings(Long hostelId, LocalDate checkIn, LocalDate checkOut);
+
+    @EntityGraph(attributePaths = {"user", "hostel"})
+    Optional<Booking> findDetailedById(Long id);
     
     List<Booking> findByUserIdAndStatus(Long userId, Booking.BookingStatus status);
+
+    @Query("SELECT b.hostel.id AS hostelId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.numberOfRooms AS numberOfRooms FROM Booking b WHERE b.status IN :statuses AND b.checkOutDate > :date")
+    List<BookedRoomsView> findStaysEndingAfter(LocalDate date, Collection<Booking.BookingStatus> statuses);
+
+    @Query("SELECT b.hostel.id AS hostelId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.numberOfRooms AS numberOfRooms FROM Booking b WHERE b.hostel.id IN :hostelIds AND b.status IN :statuses AND b.checkInDate < :to AND b.checkOutDate > :from")
+    List<BookedRoomsView> findStaysOverlapping(Collection<Long> hostelIds, LocalDate from, LocalDate to, Collection<Booking.BookingStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to, b.updatedAt = :now WHERE b.id = :id AND b.status IN :from")
+    int transitionStatus(Long id, Collection<Booking.BookingStatus> from, Booking.BookingStatus to, LocalDateTime now);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status = :status AND b.checkOutDate <= :date AND b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsCheckedOutBy(Booking.BookingStatus status, LocalDate date, Long afterId, Pageable pageable);
+
+    // Hostels whose rooms free tonight differ from last night's
+    @Query("SELECT DISTINCT b.hostel.id FROM Booking b WHERE b.status IN :statuses AND (b.checkInDate = :night OR b.checkOutDate = :night)")
+    List<Long> findHostelIdsArrivingOrLeaving(LocalDate night, Collection<Booking.BookingStatus> statuses);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status = :status AND b.createdAt < :before AND b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsCreatedBefore(Booking.BookingStatus status, LocalDateTime before, Long afterId, Pageable pageable);
+
+    // Rows locked by an in-flight booking transaction are skipped rather than waited on
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<Booking> lockByIdInAndStatus(Collection<Long> ids, Booking.BookingStatus status);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to, b.updatedAt = :now WHERE b.id IN :ids AND b.status = :from")
+    int transitionAll(Collection<Long> ids, Booking.BookingStatus from, Booking.BookingStatus to, LocalDateTime now);
 }
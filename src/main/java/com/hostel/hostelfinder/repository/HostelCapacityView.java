@@ -0,0 +1,7 @@
+package com.hostel.hostelfinder.repository;
+
+public interface HostelCapacityView {
+    Long getId();
+    String getName();
+    Integer getTotalRooms();
+}
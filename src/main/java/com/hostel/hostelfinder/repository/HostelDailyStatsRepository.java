@@ -0,0 +1,46 @@
+package com.hostel.hostelfinder.repository;
+
+import com.hostel.hostelfinder.entity.HostelDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface HostelDailyStatsRepository extends JpaRepository<HostelDailyStats, HostelDailyStats.Key> {
+
+    // Both range queries walk the (hostel_id, stay_date) primary key
+    @Query("SELECT s.hostelId AS hostelId, SUM(s.roomsSold) AS roomsSold, SUM(s.revenue) AS revenue, "
+            + "SUM(s.cancelledRooms) AS cancelledRooms FROM HostelDailyStats s "
+            + "WHERE s.hostelId IN :hostelIds AND s.stayDate >= :from AND s.stayDate < :to GROUP BY s.hostelId")
+    List<HostelStatsView> sumByHostel(Collection<Long> hostelIds, LocalDate from, LocalDate to);
+
+    @Query("SELECT s.stayDate AS stayDate, SUM(s.roomsSold) AS roomsSold, SUM(s.revenue) AS revenue, "
+            + "SUM(s.cancelledRooms) AS cancelledRooms FROM HostelDailyStats s "
+            + "WHERE s.hostelId IN :hostelIds AND s.stayDate >= :from AND s.stayDate < :to "
+            + "GROUP BY s.stayDate ORDER BY s.stayDate")
+    List<HostelStatsView> sumByDay(Collection<Long> hostelIds, LocalDate from, LocalDate to);
+
+    // One-off rollup of confirmed bookings that predate the table. Nights are expanded with a
+    // recursive CTE; each night gets the price rounded to cents and the last night the remainder,
+    // matching HostelStatsRollup. Cancellations before the rollup existed cannot be told apart
+    // from expired holds, so they are not seeded.
+    @Modifying
+    @Query(value = "INSERT INTO hostel_daily_stats (hostel_id, stay_date, rooms_sold, revenue, cancelled_rooms) "
+            + "WITH RECURSIVE nights AS ("
+            + "SELECT b.hostel_id, b.check_in_date AS stay_date, b.check_out_date, b.number_of_rooms, "
+            + "b.total_price, DATEDIFF(b.check_out_date, b.check_in_date) AS night_count "
+            + "FROM bookings b WHERE b.status IN ('CONFIRMED', 'COMPLETED') AND b.check_out_date > b.check_in_date "
+            + "UNION ALL SELECT n.hostel_id, n.stay_date + INTERVAL 1 DAY, n.check_out_date, n.number_of_rooms, "
+            + "n.total_price, n.night_count FROM nights n WHERE n.stay_date + INTERVAL 1 DAY < n.check_out_date) "
+            + "SELECT n.hostel_id, n.stay_date, SUM(n.number_of_rooms), "
+            + "SUM(CASE WHEN n.stay_date + INTERVAL 1 DAY = n.check_out_date "
+            + "THEN n.total_price - ROUND(n.total_price / n.night_count, 2) * (n.night_count - 1) "
+            + "ELSE ROUND(n.total_price / n.night_count, 2) END), 0 "
+            + "FROM nights n GROUP BY n.hostel_id, n.stay_date "
+            + "ON DUPLICATE KEY UPDATE rooms_sold = rooms_sold + VALUES(rooms_sold), revenue = revenue + VALUES(revenue)",
+            nativeQuery = true)
+    int backfillFromBookings();
+}
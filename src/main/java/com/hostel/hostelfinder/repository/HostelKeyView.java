@@ -0,0 +1,9 @@
+package com.hostel.hostelfinder.repository;
+
+import java.math.BigDecimal;
+
+public interface HostelKeyView {
+    Long getId();
+    BigDecimal getPricePerNight();
+    Double getRating();
+}
@@ -0,0 +1,21 @@
+package com.hostel.hostelfinder.repository;
+
+import com.hostel.hostelfinder.entity.HostelRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface HostelRatingStatsRepository extends JpaRepository<HostelRatingStats, Long> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO hostel_rating_stats (hostel_id, rating_sum, rating_count, one_star, two_star, three_star, four_star, five_star) VALUES (:hostelId, 0, 0, 0, 0, 0, 0, 0)", nativeQuery = true)
+    void ensureExists(Long hostelId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM HostelRatingStats s WHERE s.hostelId = :hostelId")
+    Optional<HostelRatingStats> findForUpdate(Long hostelId);
+}
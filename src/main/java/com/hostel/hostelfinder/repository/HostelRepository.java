@@ -1,19 +1,59 @@
 package com.hostel.hostelfinder.repository;
 
+import com.hostel.hostelfinder.entity.Booking;
 import com.hostel.hostelfinder.entity.Hostel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface HostelRepository extends JpaRepository<Hostel, Long> {
     List<Hostel> findByPincode(String pincode);
+
+    boolean existsByPincodeAndAvailableRoomsGreaterThan(String pincode, Integer availableRooms);
     
     List<Hostel> findByPricePerNightLessThanEqual(BigDecimal price);
     
     @Query("SELECT h FROM Hostel h WHERE h.pincode = :pincode AND h.pricePerNight <= :maxPrice AND h.availableRooms > 0")
     List<Hostel> searchHostels(String pincode, BigDecimal maxPrice);
+
+    @Query("SELECT h.id FROM Hostel h WHERE h.id > :afterId ORDER BY h.id")
+    List<Long> findIdsAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT h.id AS id, h.pricePerNight AS pricePerNight, h.rating AS rating FROM Hostel h WHERE h.id > :afterId ORDER BY h.id")
+    List<HostelKeyView> findKeyPageById(Long afterId, Pageable pageable);
+
+    @Query("SELECT h.id AS id, h.pricePerNight AS pricePerNight, h.rating AS rating FROM Hostel h WHERE h.pricePerNight > :price OR (h.pricePerNight = :price AND h.id > :afterId) ORDER BY h.pricePerNight, h.id")
+    List<HostelKeyView> findKeyPageByPrice(BigDecimal price, Long afterId, Pageable pageable);
+
+    @Query("SELECT h.id AS id, h.pricePerNight AS pricePerNight, h.rating AS rating FROM Hostel h WHERE h.rating < :rating OR (h.rating = :rating AND h.id > :afterId) ORDER BY h.rating DESC, h.id")
+    List<HostelKeyView> findKeyPageByRating(Double rating, Long afterId, Pageable pageable);
+
+    @Query("SELECT h.id AS id, h.name AS name, h.totalRooms AS totalRooms FROM Hostel h WHERE h.id IN :ids")
+    List<HostelCapacityView> findCapacityByIdIn(Collection<Long> ids);
+
+    @Query("SELECT h.id AS id, h.name AS name, h.totalRooms AS totalRooms FROM Hostel h WHERE h.pincode = :pincode ORDER BY h.id")
+    List<HostelCapacityView> findCapacityByPincode(String pincode);
+
+    @Query("SELECT DISTINCT h FROM Hostel h LEFT JOIN FETCH h.facilities WHERE h.id IN :ids")
+    List<Hostel> findWithFacilitiesByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Hostel h SET h.rating = :rating, h.totalReviews = :totalReviews, h.version = h.version + 1, h.updatedAt = :now WHERE h.id = :hostelId")
+    int updateRating(Long hostelId, Double rating, Integer totalReviews, LocalDateTime now);
+
+    // availableRooms is a display value, the rooms free on :night; bookings are checked per night by RoomInventory
+    @Modifying
+    @Query("UPDATE Hostel h SET h.availableRooms = GREATEST(h.totalRooms - (SELECT COALESCE(SUM(b.numberOfRooms), 0) FROM Booking b "
+            + "WHERE b.hostel.id = h.id AND b.status IN :statuses AND b.checkInDate <= :night AND b.checkOutDate > :night), 0), "
+            + "h.version = h.version + 1, h.updatedAt = :now WHERE h.id IN :hostelIds")
+    int refreshAvailableRooms(Collection<Long> hostelIds, LocalDate night, Collection<Booking.BookingStatus> statuses, LocalDateTime now);
 }
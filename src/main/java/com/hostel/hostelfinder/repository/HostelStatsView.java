@@ -0,0 +1,12 @@
+package com.hostel.hostelfinder.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface HostelStatsView {
+    Long getHostelId();
+    LocalDate getStayDate();
+    Long getRoomsSold();
+    BigDecimal getRevenue();
+    Long getCancelledRooms();
+}
@@ -0,0 +1,16 @@
+package com.hostel.hostelfinder.repository;
+
+import java.time.LocalDateTime;
+
+public interface ReviewFeedView {
+    Long getId();
+    Long getHostelId();
+    Long getUserId();
+    Integer getRating();
+    String getComment();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    String getUserFullName();
+    String getUserEmail();
+    String getHostelName();
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -16,4 +17,22 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.hostel.id = :hostelId")
     Double getAverageRatingForHostel(@Param("hostelId") Long hostelId);
+
+    @Query("SELECT r.hostel.id, r.rating, COUNT(r) FROM Review r GROUP BY r.hostel.id, r.rating")
+    List<Object[]> countByHostelAndRating();
+
+    // Newest first; (createdAt, id) is the keyset so equal timestamps still page deterministically
+    @Query("SELECT r.id AS id, h.id AS hostelId, u.id AS userId, r.rating AS rating, r.comment AS comment, " +
+           "r.createdAt AS createdAt, r.updatedAt AS updatedAt, u.fullName AS userFullName, u.email AS userEmail, " +
+           "h.name AS hostelName FROM Review r JOIN r.user u JOIN r.hostel h WHERE h.id = :hostelId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewFeedView> findFeedPage(Long hostelId, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    // No helpfulness votes are recorded, so rating and then review length stand in for them
+    @Query("SELECT r.id AS id, h.id AS hostelId, u.id AS userId, r.rating AS rating, r.comment AS comment, " +
+           "r.createdAt AS createdAt, r.updatedAt AS updatedAt, u.fullName AS userFullName, u.email AS userEmail, " +
+           "h.name AS hostelName FROM Review r JOIN r.user u JOIN r.hostel h WHERE h.id = :hostelId " +
+           "ORDER BY r.rating DESC, LENGTH(r.comment) DESC, r.createdAt DESC, r.id DESC")
+    List<ReviewFeedView> findMostHelpful(Long hostelId, Pageable pageable);
 }
@@ -0,0 +1,76 @@
+package com.hostel.hostelfinder.search;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns facility names to bit positions so a facility set becomes a {@code long[]} bitset.
+ * Positions are never reused, which keeps bitsets built at different times comparable.
+ */
+class FacilityDictionary {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+    private final AtomicInteger nextBit = new AtomicInteger();
+
+    long[] encode(Collection<String> facilities) {
+        if (facilities == null || facilities.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = EMPTY;
+        for (String facility : facilities) {
+            int bit = bits.computeIfAbsent(facility, key -> nextBit.getAndIncrement());
+            words = set(words, bit);
+        }
+        return words;
+    }
+
+    /**
+     * Bitset for a query, or {@code null} if any facility has never been seen, in which case
+     * no hostel can match.
+     */
+    long[] lookup(Collection<String> facilities) {
+        if (facilities == null || facilities.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = EMPTY;
+        for (String facility : facilities) {
+            Integer bit = bits.get(facility);
+            if (bit == null) {
+                return null;
+            }
+            words = set(words, bit);
+        }
+        return words;
+    }
+
+    static boolean containsAll(long[] available, long[] required) {
+        if (required.length > available.length) {
+            for (int i = available.length; i < required.length; i++) {
+                if (required[i] != 0) {
+                    return false;
+                }
+            }
+        }
+        for (int i = 0; i < Math.min(available.length, required.length); i++) {
+            if ((available[i] & required[i]) != required[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] set(long[] words, int bit) {
+        int word = bit >>> 6;
+        if (word >= words.length) {
+            long[] grown = new long[word + 1];
+            System.arraycopy(words, 0, grown, 0, words.length);
+            words = grown;
+        }
+        words[word] |= 1L << bit;
+        return words;
+    }
+}
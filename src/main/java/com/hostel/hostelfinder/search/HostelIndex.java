@@ -0,0 +1,20 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+
+/**
+ * An in-memory structure derived from the hostels table and kept current by
+ * {@link HostelIndexSynchronizer}. Implementations must copy what they need out of the
+ * entity; it is detached once the call returns.
+ */
+public interface HostelIndex {
+
+    void clear();
+
+    void upsert(Hostel hostel);
+
+    void remove(Long hostelId);
+
+    default void rebuilt() {
+    }
+}
@@ -0,0 +1,72 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.cache.CatalogVersion;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads hostels once for all registered {@link HostelIndex} beans: in id-ordered chunks at
+ * startup, and again for just the affected rows after each committed {@link HostelChangedEvent}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HostelIndexSynchronizer {
+
+    private final HostelRepository hostelRepository;
+    private final List<HostelIndex> indexes;
+
+    @Value("${search.index.rebuild-chunk-size:1000}")
+    private int chunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        indexes.forEach(HostelIndex::clear);
+        long afterId = 0;
+        int loaded = 0;
+        List<Long> ids;
+        do {
+            ids = hostelRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                for (Hostel hostel : hostelRepository.findWithFacilitiesByIdIn(ids)) {
+                    indexes.forEach(index -> index.upsert(hostel));
+                }
+                afterId = ids.get(ids.size() - 1);
+                loaded += ids.size();
+            }
+        } while (ids.size() == chunkSize);
+        indexes.forEach(HostelIndex::rebuilt);
+        log.info("Rebuilt {} hostel indexes from {} hostels in {} ms",
+                indexes.size(), loaded, System.currentTimeMillis() - started);
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHostelChanged(HostelChangedEvent event) {
+        if (event.isRemoved()) {
+            event.getHostelIds().forEach(id -> indexes.forEach(index -> index.remove(id)));
+            return;
+        }
+        Set<Long> missing = new HashSet<>(event.getHostelIds());
+        for (Hostel hostel : hostelRepository.findWithFacilitiesByIdIn(event.getHostelIds())) {
+            missing.remove(hostel.getId());
+            indexes.forEach(index -> index.upsert(hostel));
+        }
+        missing.forEach(id -> indexes.forEach(index -> index.remove(id)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Hostels of each pincode kept ordered by {@link HostelScorer} score, so the best {@code k} are
+ * the first {@code k} of the set rather than a sort over every candidate. A hostel, booking or
+ * review change re-scores only the hostel it touched and moves it within its pincode.
+ * <p>
+ * Reads go straight to the concurrent sets; a hostel being moved can be missing from one read.
+ */
+@Component
+public class HostelRankingIndex implements HostelIndex {
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingDouble(Entry::getScore).reversed()
+            .thenComparing(Entry::getId);
+
+    private final HostelScorer scorer;
+    private final Map<String, NavigableSet<Entry>> byPincode = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public HostelRankingIndex(HostelScorer scorer) {
+        this.scorer = scorer;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public synchronized void clear() {
+        ready = false;
+        byPincode.clear();
+        byId.clear();
+    }
+
+    @Override
+    public void rebuilt() {
+        ready = true;
+    }
+
+    @Override
+    public synchronized void upsert(Hostel hostel) {
+        if (hostel.getPincode() == null) {
+            remove(hostel.getId());
+            return;
+        }
+        Entry entry = new Entry(hostel.getId(), hostel.getPincode(), scorer.score(hostel),
+                hostel.getAvailableRooms() != null && hostel.getAvailableRooms() > 0);
+        Entry previous = byId.put(entry.getId(), entry);
+        if (previous != null) {
+            detach(previous);
+        }
+        byPincode.computeIfAbsent(entry.getPincode(), key -> new ConcurrentSkipListSet<>(BEST_FIRST)).add(entry);
+    }
+
+    @Override
+    public synchronized void remove(Long hostelId) {
+        Entry previous = byId.remove(hostelId);
+        if (previous != null) {
+            detach(previous);
+        }
+    }
+
+    /**
+     * Ids of the {@code k} best-scoring hostels in {@code pincode}, best first, optionally only
+     * those with a free room.
+     */
+    public List<Long> top(String pincode, boolean availableOnly, int k) {
+        NavigableSet<Entry> ranked = byPincode.get(pincode);
+        if (ranked == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(Math.min(k, ranked.size()));
+        for (Entry entry : ranked) {
+            if (ids.size() == k) {
+                break;
+            }
+            if (!availableOnly || entry.isAvailable()) {
+                ids.add(entry.getId());
+            }
+        }
+        return ids;
+    }
+
+    private void detach(Entry entry) {
+        NavigableSet<Entry> ranked = byPincode.get(entry.getPincode());
+        if (ranked != null) {
+            ranked.remove(entry);
+            if (ranked.isEmpty()) {
+                byPincode.remove(entry.getPincode());
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class Entry {
+        private final Long id;
+        private final String pincode;
+        private final double score;
+        private final boolean available;
+    }
+}
@@ -0,0 +1,63 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ranks a hostel by a weighted sum of four signals, each scaled to 0..1: cheapness relative to a
+ * reference price, rating out of 5, review count on a log scale that saturates, and the share of
+ * rooms still free. Missing values score 0 on their signal.
+ */
+@Component
+public class HostelScorer {
+
+    private final double priceWeight;
+    private final double ratingWeight;
+    private final double reviewsWeight;
+    private final double availabilityWeight;
+    private final double referencePrice;
+    private final double logReviewsSaturation;
+
+    public HostelScorer(@Value("${ranking.weight.price:0.3}") double priceWeight,
+                        @Value("${ranking.weight.rating:0.4}") double ratingWeight,
+                        @Value("${ranking.weight.reviews:0.2}") double reviewsWeight,
+                        @Value("${ranking.weight.availability:0.1}") double availabilityWeight,
+                        @Value("${ranking.reference-price:1000}") double referencePrice,
+                        @Value("${ranking.reviews-saturation:500}") int reviewsSaturation) {
+        if (priceWeight < 0 || ratingWeight < 0 || reviewsWeight < 0 || availabilityWeight < 0) {
+            throw new IllegalArgumentException("Ranking weights cannot be negative");
+        }
+        if (referencePrice <= 0 || reviewsSaturation <= 0) {
+            throw new IllegalArgumentException("ranking.reference-price and ranking.reviews-saturation must be positive");
+        }
+        this.priceWeight = priceWeight;
+        this.ratingWeight = ratingWeight;
+        this.reviewsWeight = reviewsWeight;
+        this.availabilityWeight = availabilityWeight;
+        this.referencePrice = referencePrice;
+        this.logReviewsSaturation = Math.log1p(reviewsSaturation);
+    }
+
+    public double score(Hostel hostel) {
+        double score = 0;
+        if (hostel.getPricePerNight() != null && hostel.getPricePerNight().signum() >= 0) {
+            // 1 when free, 0.5 at the reference price, falling towards 0 above it
+            score += priceWeight * referencePrice / (referencePrice + hostel.getPricePerNight().doubleValue());
+        }
+        if (hostel.getRating() != null) {
+            score += ratingWeight * clamp(hostel.getRating() / 5.0);
+        }
+        if (hostel.getTotalReviews() != null && hostel.getTotalReviews() > 0) {
+            score += reviewsWeight * clamp(Math.log1p(hostel.getTotalReviews()) / logReviewsSaturation);
+        }
+        if (hostel.getAvailableRooms() != null && hostel.getTotalRooms() != null && hostel.getTotalRooms() > 0) {
+            score += availabilityWeight * clamp((double) hostel.getAvailableRooms() / hostel.getTotalRooms());
+        }
+        return score;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+}
@@ -0,0 +1,167 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Secondary index answering pincode + max price + facility searches without touching the
+ * database. Each pincode holds its hostels sorted by price, so a price bound is a prefix of the
+ * array; facilities are matched with bitwise ANDs against interned bitsets.
+ */
+@Component
+public class HostelSearchIndex implements HostelIndex {
+
+    private static final Comparator<Entry> BY_PRICE = Comparator
+            .comparing(Entry::getPricePerNight, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Entry::getId);
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final FacilityDictionary facilityDictionary = new FacilityDictionary();
+    private final Map<String, Entry[]> byPincode = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public synchronized void clear() {
+        ready = false;
+        byPincode.clear();
+        byId.clear();
+    }
+
+    @Override
+    public void rebuilt() {
+        ready = true;
+    }
+
+    @Override
+    public synchronized void upsert(Hostel hostel) {
+        Entry entry = new Entry(hostel.getId(), hostel.getPincode(), hostel.getPricePerNight(),
+                hostel.getRating(), hostel.getAvailableRooms(), facilityDictionary.encode(hostel.getFacilities()));
+        Entry previous = byId.put(entry.getId(), entry);
+        if (previous != null) {
+            detach(previous);
+        }
+        if (entry.getPincode() != null) {
+            byPincode.merge(entry.getPincode(), new Entry[]{entry}, HostelSearchIndex::insertSorted);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long hostelId) {
+        Entry previous = byId.remove(hostelId);
+        if (previous != null) {
+            detach(previous);
+        }
+    }
+
+    /**
+     * Matching hostels, cheapest first. Mirrors the database search: hostels without free
+     * rooms are only dropped when a price or facility filter is given.
+     */
+    public List<Entry> search(String pincode, BigDecimal maxPrice, Collection<String> facilities) {
+        List<Entry> matches = new ArrayList<>();
+        forEachMatch(pincode, maxPrice, facilities, matches::add);
+        return matches;
+    }
+
+    public boolean hasAvailableRooms(String pincode) {
+        for (Entry entry : byPincode.getOrDefault(pincode, EMPTY)) {
+            if (entry.getAvailableRooms() != null && entry.getAvailableRooms() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void forEachMatch(String pincode, BigDecimal maxPrice, Collection<String> facilities,
+                              Consumer<Entry> sink) {
+        if (pincode == null) {
+            return;
+        }
+        long[] required = facilityDictionary.lookup(facilities);
+        if (required == null) {
+            return;
+        }
+        boolean onlyAvailable = maxPrice != null || required.length > 0;
+        Entry[] entries = byPincode.getOrDefault(pincode, EMPTY);
+        int end = maxPrice == null ? entries.length : upperBound(entries, maxPrice);
+        for (int i = 0; i < end; i++) {
+            Entry entry = entries[i];
+            if (maxPrice != null && entry.getPricePerNight() == null) {
+                continue;
+            }
+            if (onlyAvailable && (entry.getAvailableRooms() == null || entry.getAvailableRooms() <= 0)) {
+                continue;
+            }
+            if (FacilityDictionary.containsAll(entry.getFacilities(), required)) {
+                sink.accept(entry);
+            }
+        }
+    }
+
+    private void detach(Entry entry) {
+        if (entry.getPincode() == null) {
+            return;
+        }
+        byPincode.computeIfPresent(entry.getPincode(), (pincode, entries) -> {
+            Entry[] remaining = Arrays.stream(entries)
+                    .filter(candidate -> !candidate.getId().equals(entry.getId()))
+                    .toArray(Entry[]::new);
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+
+    private static Entry[] insertSorted(Entry[] entries, Entry[] added) {
+        Entry entry = added[0];
+        int position = Arrays.binarySearch(entries, entry, BY_PRICE);
+        int insertAt = position >= 0 ? position : -position - 1;
+        Entry[] grown = new Entry[entries.length + 1];
+        System.arraycopy(entries, 0, grown, 0, insertAt);
+        grown[insertAt] = entry;
+        System.arraycopy(entries, insertAt, grown, insertAt + 1, entries.length - insertAt);
+        return grown;
+    }
+
+    private static int upperBound(Entry[] entries, BigDecimal maxPrice) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            BigDecimal price = entries[mid].getPricePerNight();
+            if (price == null || price.compareTo(maxPrice) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Entry {
+        private final Long id;
+        private final String pincode;
+        private final BigDecimal pricePerNight;
+        private final Double rating;
+        private final Integer availableRooms;
+        private final long[] facilities;
+    }
+}
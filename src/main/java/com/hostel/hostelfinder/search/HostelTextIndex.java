@@ -0,0 +1,277 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over hostel name, description, address and facilities, ranked with BM25.
+ * Field matches are weighted before scoring (a name hit counts three times a description hit),
+ * and only the best {@code k} hostels are kept while scoring, in a bounded heap.
+ * <p>
+ * Each hostel gets a stable ordinal so postings are plain {@code int}/{@code float} arrays.
+ * Availability-only updates, which make up most {@code upsert} calls, leave the postings alone.
+ */
+@Component
+public class HostelTextIndex implements HostelIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float FACILITY_WEIGHT = 2.0f;
+    private static final float ADDRESS_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::getScore)
+            .thenComparing(Hit::getId, Comparator.reverseOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private Document[] documents = new Document[1024];
+    // Document lengths by ordinal, kept apart so scoring a posting list stays in one array
+    private float[] lengths = new float[1024];
+    private int nextOrdinal;
+    private int liveDocuments;
+    private double totalLength;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            ordinals.clear();
+            documents = new Document[1024];
+            lengths = new float[1024];
+            nextOrdinal = 0;
+            liveDocuments = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuilt() {
+        ready = true;
+    }
+
+    @Override
+    public void upsert(Hostel hostel) {
+        // Tokenize outside the lock; only the postings update needs it
+        Map<String, Float> weights = new HashMap<>();
+        weigh(weights, hostel.getName(), NAME_WEIGHT);
+        weigh(weights, hostel.getAddress(), ADDRESS_WEIGHT);
+        weigh(weights, hostel.getDescription(), DESCRIPTION_WEIGHT);
+        if (hostel.getFacilities() != null) {
+            hostel.getFacilities().forEach(facility -> weigh(weights, facility, FACILITY_WEIGHT));
+        }
+        Document document = new Document(hostel.getId(), hostel.getPincode(), hostel.getPricePerNight(), weights);
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(hostel.getId());
+            if (ordinal != null) {
+                Document previous = documents[ordinal];
+                if (previous.weights.equals(weights)) {
+                    documents[ordinal] = document;
+                    return;
+                }
+                unindex(ordinal, previous);
+            } else {
+                ordinal = nextOrdinal++;
+                if (ordinal == documents.length) {
+                    documents = Arrays.copyOf(documents, documents.length * 2);
+                    lengths = Arrays.copyOf(lengths, lengths.length * 2);
+                }
+                ordinals.put(hostel.getId(), ordinal);
+            }
+            documents[ordinal] = document;
+            lengths[ordinal] = document.length;
+            liveDocuments++;
+            totalLength += document.length;
+            int at = ordinal;
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new Postings()).add(at, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long hostelId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(hostelId);
+            if (ordinal != null) {
+                unindex(ordinal, documents[ordinal]);
+                documents[ordinal] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code k} best-scoring hostels for {@code query}, best first. Any query term may match;
+     * hostels matching more and rarer terms rank higher. {@code pincode} and {@code maxPrice}
+     * are optional filters.
+     */
+    public List<Hit> search(String query, String pincode, BigDecimal maxPrice, int k) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.terms(query));
+        if (terms.isEmpty() || k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (liveDocuments == 0) {
+                return List.of();
+            }
+            float averageLength = (float) (totalLength / liveDocuments);
+            float[] scores = new float[nextOrdinal];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (liveDocuments - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int ordinal = list.ordinals[i];
+                    float tf = list.weights[i];
+                    float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                    if (scores[ordinal] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = ordinal;
+                    }
+                    scores[ordinal] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(k, touchedCount) + 1, WORST_FIRST);
+            for (int i = 0; i < touchedCount; i++) {
+                float score = scores[touched[i]];
+                // Most candidates cannot beat the current k-th score; skip them before loading the document
+                if (best.size() == k && score < best.peek().getScore()) {
+                    continue;
+                }
+                Document document = documents[touched[i]];
+                if (pincode != null && !pincode.equals(document.pincode)) {
+                    continue;
+                }
+                if (maxPrice != null && (document.pricePerNight == null || document.pricePerNight.compareTo(maxPrice) > 0)) {
+                    continue;
+                }
+                Hit hit = new Hit(document.id, score);
+                if (best.size() < k) {
+                    best.add(hit);
+                } else if (WORST_FIRST.compare(hit, best.peek()) > 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(WORST_FIRST.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(int ordinal, Document document) {
+        document.weights.keySet().forEach(term -> {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(ordinal) && list.size == 0) {
+                postings.remove(term);
+            }
+        });
+        liveDocuments--;
+        totalLength -= document.length;
+    }
+
+    private static void weigh(Map<String, Float> weights, String text, float weight) {
+        for (String term : TextAnalyzer.terms(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Hit {
+        private final Long id;
+        private final float score;
+    }
+
+    private static final class Document {
+        private final Long id;
+        private final String pincode;
+        private final BigDecimal pricePerNight;
+        // Weighted term frequencies; their sum is the document length BM25 normalizes by
+        private final Map<String, Float> weights;
+        private final float length;
+
+        private Document(Long id, String pincode, BigDecimal pricePerNight, Map<String, Float> weights) {
+            this.id = id;
+            this.pincode = pincode;
+            this.pricePerNight = pricePerNight;
+            this.weights = weights;
+            float sum = 0;
+            for (float weight : weights.values()) {
+                sum += weight;
+            }
+            this.length = sum;
+        }
+    }
+
+    // Unordered; removal swaps the last entry into the freed slot
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            size++;
+        }
+
+        private boolean remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
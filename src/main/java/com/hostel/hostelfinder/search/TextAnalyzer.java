@@ -0,0 +1,50 @@
+package com.hostel.hostelfinder.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into search terms: lower-cased runs of letters and digits, minus common English
+ * stop words, with a trailing plural "s" dropped so "girls hostels" meets "girls' hostel".
+ * Documents and queries go through the same steps.
+ */
+final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in",
+            "is", "it", "its", "of", "on", "or", "the", "this", "to", "with");
+
+    private TextAnalyzer() {
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, String word) {
+        if (STOP_WORDS.contains(word)) {
+            return;
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            word = word.substring(0, word.length() - 1);
+        }
+        terms.add(word);
+    }
+}
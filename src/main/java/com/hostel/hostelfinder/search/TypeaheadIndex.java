@@ -0,0 +1,371 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix suggestions over pincodes, address localities and hostel names. Suggestions sit in one
+ * array sorted by their normalized text, so a prefix is a contiguous range; a max segment tree of
+ * scores over that array yields the best {@code k} in the range in O(k log n), however many
+ * suggestions share the prefix. A suggestion scores by the hostels under it, then by their reviews.
+ * <p>
+ * Count changes update the tree in place. Text not seen before waits in a small pending list,
+ * scanned linearly, until it is merged into the sorted array; suggestions no hostel uses any more
+ * are dropped at that merge.
+ */
+@Component
+public class TypeaheadIndex implements HostelIndex {
+
+    public enum Kind { PINCODE, LOCALITY, HOSTEL }
+
+    // Longer text is cut, so one long name cannot grow the index without bound
+    private static final int MAX_TEXT_LENGTH = 64;
+    private static final int MIN_PENDING = 1024;
+
+    private static final Comparator<Suggestion> BY_TEXT = Comparator.comparing((Suggestion s) -> s.text)
+            .thenComparing(s -> s.kind);
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator.comparingLong(Suggestion::score).reversed()
+            .thenComparing(BY_TEXT);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Kind, Map<String, Suggestion>> byText = new EnumMap<>(Kind.class);
+    private final Map<Long, Contribution> byHostel = new HashMap<>();
+    private final List<Suggestion> pending = new ArrayList<>();
+    private Suggestion[] sorted = new Suggestion[0];
+    // Max score per node; leaves start at index leaves, node i has children 2i and 2i + 1
+    private long[] tree = new long[2];
+    private int leaves = 1;
+    private volatile boolean ready;
+
+    public TypeaheadIndex() {
+        for (Kind kind : Kind.values()) {
+            byText.put(kind, new HashMap<>());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return sorted.length + pending.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            byText.values().forEach(Map::clear);
+            byHostel.clear();
+            pending.clear();
+            sorted = new Suggestion[0];
+            tree = new long[2];
+            leaves = 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuilt() {
+        lock.writeLock().lock();
+        try {
+            merge();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(Hostel hostel) {
+        List<Kind> kinds = new ArrayList<>(4);
+        List<String> texts = new ArrayList<>(4);
+        List<String> labels = new ArrayList<>(4);
+        add(kinds, texts, labels, Kind.PINCODE, hostel.getPincode());
+        add(kinds, texts, labels, Kind.HOSTEL, hostel.getName());
+        for (String locality : localities(hostel.getAddress())) {
+            add(kinds, texts, labels, Kind.LOCALITY, locality);
+        }
+        int reviews = hostel.getTotalReviews() == null ? 0 : Math.max(0, hostel.getTotalReviews());
+
+        lock.writeLock().lock();
+        try {
+            Contribution previous = byHostel.get(hostel.getId());
+            if (previous != null && previous.sameAs(kinds, texts, reviews)) {
+                // Bookings only change availability, which suggestions do not show
+                return;
+            }
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            Suggestion[] suggestions = new Suggestion[kinds.size()];
+            for (int i = 0; i < suggestions.length; i++) {
+                suggestions[i] = suggestion(kinds.get(i), texts.get(i), labels.get(i));
+            }
+            Contribution next = new Contribution(suggestions, reviews);
+            byHostel.put(hostel.getId(), next);
+            apply(next, 1);
+            if (pending.size() > Math.max(MIN_PENDING, sorted.length / 8)) {
+                merge();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long hostelId) {
+        lock.writeLock().lock();
+        try {
+            Contribution previous = byHostel.remove(hostelId);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} suggestions whose normalized text starts with {@code prefix}, best first.
+     */
+    public List<Match> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Suggestion> found = new ArrayList<>(limit);
+            int from = lowerBound(key);
+            int to = lowerBound(key + Character.MAX_VALUE);
+            if (from < to) {
+                // Seed with the O(log n) nodes covering [from, to), then always expand the best one;
+                // equal scores go leftmost first, which keeps ties in text order
+                PriorityQueue<Integer> nodes = new PriorityQueue<>((a, b) -> tree[a] != tree[b]
+                        ? Long.compare(tree[b], tree[a])
+                        : Integer.compare(leftmostLeaf(a), leftmostLeaf(b)));
+                for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+                    if ((l & 1) == 1) {
+                        offer(nodes, l++);
+                    }
+                    if ((r & 1) == 1) {
+                        offer(nodes, --r);
+                    }
+                }
+                while (found.size() < limit && !nodes.isEmpty()) {
+                    int node = nodes.poll();
+                    if (node >= leaves) {
+                        found.add(sorted[node - leaves]);
+                    } else {
+                        offer(nodes, 2 * node);
+                        offer(nodes, 2 * node + 1);
+                    }
+                }
+            }
+            for (Suggestion suggestion : pending) {
+                if (suggestion.hostels > 0 && suggestion.text.startsWith(key)) {
+                    found.add(suggestion);
+                }
+            }
+            found.sort(BEST_FIRST);
+            List<Match> matches = new ArrayList<>(Math.min(limit, found.size()));
+            for (Suggestion suggestion : found.subList(0, Math.min(limit, found.size()))) {
+                matches.add(new Match(suggestion.kind, suggestion.label, suggestion.hostels));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(Math.min(text.length(), MAX_TEXT_LENGTH));
+        boolean space = false;
+        for (int i = 0; i < text.length() && normalized.length() < MAX_TEXT_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Every comma-separated part after the street line that is not just a number,
+    // e.g. "Sector 5" and "Hyderabad" from "12 Main Road, Sector 5, Hyderabad"
+    static Set<String> localities(String address) {
+        Set<String> localities = new LinkedHashSet<>();
+        if (address == null) {
+            return localities;
+        }
+        String[] parts = address.split(",");
+        for (int i = 1; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (!part.isEmpty() && !part.chars().allMatch(c -> Character.isDigit(c) || Character.isWhitespace(c))) {
+                localities.add(part);
+            }
+        }
+        return localities;
+    }
+
+    private static void add(List<Kind> kinds, List<String> texts, List<String> labels, Kind kind, String label) {
+        String text = normalize(label);
+        if (text.isEmpty()) {
+            return;
+        }
+        kinds.add(kind);
+        texts.add(text);
+        labels.add(label.trim());
+    }
+
+    private Suggestion suggestion(Kind kind, String text, String label) {
+        Suggestion suggestion = byText.get(kind).get(text);
+        if (suggestion == null) {
+            suggestion = new Suggestion(kind, text, label.length() > MAX_TEXT_LENGTH ? label.substring(0, MAX_TEXT_LENGTH) : label);
+            byText.get(kind).put(text, suggestion);
+            pending.add(suggestion);
+        }
+        return suggestion;
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        for (Suggestion suggestion : contribution.suggestions) {
+            suggestion.hostels += sign;
+            suggestion.reviews += (long) sign * contribution.reviews;
+            if (suggestion.slot >= 0) {
+                int node = suggestion.slot + leaves;
+                tree[node] = suggestion.score();
+                for (node >>= 1; node >= 1; node >>= 1) {
+                    tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+                }
+            }
+        }
+    }
+
+    private void merge() {
+        List<Suggestion> live = new ArrayList<>(sorted.length + pending.size());
+        for (Map<String, Suggestion> suggestions : byText.values()) {
+            suggestions.values().removeIf(suggestion -> suggestion.hostels <= 0);
+            live.addAll(suggestions.values());
+        }
+        live.sort(BY_TEXT);
+        sorted = live.toArray(new Suggestion[0]);
+        leaves = Math.max(1, Integer.highestOneBit(Math.max(1, sorted.length - 1)) << 1);
+        tree = new long[2 * leaves];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i].slot = i;
+            tree[leaves + i] = sorted[i].score();
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+        pending.clear();
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].text.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int leftmostLeaf(int node) {
+        return node << (Integer.numberOfLeadingZeros(node) - Integer.numberOfLeadingZeros(leaves));
+    }
+
+    private void offer(PriorityQueue<Integer> nodes, int node) {
+        if (tree[node] > 0) {
+            nodes.add(node);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Match {
+        private final Kind kind;
+        private final String text;
+        private final int hostelCount;
+    }
+
+    private static final class Suggestion {
+        private final Kind kind;
+        private final String text;
+        private final String label;
+        private int hostels;
+        private long reviews;
+        // Position in the sorted array, or -1 while pending
+        private int slot = -1;
+
+        private Suggestion(Kind kind, String text, String label) {
+            this.kind = kind;
+            this.text = text;
+            // Reuse the normalized string when the label adds nothing to it
+            this.label = label.equals(text) ? text : label;
+        }
+
+        // Hostel count in the high half, reviews as the tie-break; zero once no hostel is left
+        private long score() {
+            return hostels <= 0 ? 0 : ((long) hostels << 32) | Math.min(reviews, 0xFFFFFFFFL);
+        }
+    }
+
+    // What one hostel added, kept so an update or delete can take exactly that back out
+    private static final class Contribution {
+        private final Suggestion[] suggestions;
+        private final int reviews;
+
+        private Contribution(Suggestion[] suggestions, int reviews) {
+            this.suggestions = suggestions;
+            this.reviews = reviews;
+        }
+
+        private boolean sameAs(List<Kind> kinds, List<String> texts, int reviews) {
+            if (this.reviews != reviews || suggestions.length != kinds.size()) {
+                return false;
+            }
+            for (int i = 0; i < suggestions.length; i++) {
+                if (suggestions[i].kind != kinds.get(i) || !suggestions[i].text.equals(texts.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
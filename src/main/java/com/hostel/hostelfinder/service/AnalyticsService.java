@@ -0,0 +1,10 @@
+package com.hostel.hostelfinder.service;
+
+import com.hostel.hostelfinder.dto.HostelAnalyticsDTO;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface AnalyticsService {
+    HostelAnalyticsDTO getHostelAnalytics(Collection<Long> hostelIds, LocalDate from, LocalDate to, boolean daily);
+}
@@ -0,0 +1,10 @@
+package com.hostel.hostelfinder.service;
+
+import com.hostel.hostelfinder.dto.AvailabilityCalendarDTO;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface AvailabilityService {
+    AvailabilityCalendarDTO getAvailability(Collection<Long> hostelIds, String pincode, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,13 @@
+package com.hostel.hostelfinder.service;
+
+import com.hostel.hostelfinder.dto.ExportFormat;
+import com.hostel.hostelfinder.entity.Booking;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface BookingExportService {
+    StreamingResponseBody exportHostelBookings(Long hostelId, LocalDate from, LocalDate to,
+                                               Collection<Booking.BookingStatus> statuses, ExportFormat format);
+}
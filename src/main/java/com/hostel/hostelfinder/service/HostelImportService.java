@@ -0,0 +1,11 @@
+package com.hostel.hostelfinder.service;
+
+import com.hostel.hostelfinder.dto.ImportFormat;
+import com.hostel.hostelfinder.dto.ImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface HostelImportService {
+    ImportReportDTO importHostels(InputStream input, ImportFormat format) throws IOException;
+}
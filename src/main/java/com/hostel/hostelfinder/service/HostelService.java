@@ -1,14 +1,24 @@
 package com.hostel.hostelfinder.service;
 
+import com.hostel.hostelfinder.dto.CursorPageDTO;
 import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.dto.HostelSort;
+import com.hostel.hostelfinder.dto.SmartSearchResultDTO;
+import com.hostel.hostelfinder.dto.SuggestionDTO;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 public interface HostelService {
-    List<HostelDTO> getAllHostels();
+    CursorPageDTO<HostelDTO> getAllHostels(HostelSort sort, String cursor, int size);
     HostelDTO getHostel(Long id);
-    List<HostelDTO> searchHostels(String location, BigDecimal maxPrice, List<String> facilities);
+    CursorPageDTO<HostelDTO> searchHostels(String location, BigDecimal maxPrice, List<String> facilities,
+                                           HostelSort sort, String cursor, int size);
+    SmartSearchResultDTO smartSearch(String pincode);
+    List<HostelDTO> textSearch(String query, String location, BigDecimal maxPrice, int size);
+    void requireTextSearchReady();
+    List<SuggestionDTO> suggest(String prefix, int limit);
+    List<HostelDTO> topHostels(String pincode, boolean availableOnly, int size);
     HostelDTO createHostel(HostelDTO hostelDTO);
     HostelDTO updateHostel(Long id, HostelDTO hostelDTO);
     void deleteHostel(Long id);
@@ -0,0 +1,17 @@
+package com.hostel.hostelfinder.service;
+
+import com.hostel.hostelfinder.dto.CursorPageDTO;
+import com.hostel.hostelfinder.dto.RatingDistributionDTO;
+import com.hostel.hostelfinder.dto.ReviewDTO;
+import com.hostel.hostelfinder.dto.ReviewHighlightsDTO;
+
+public interface ReviewService {
+    ReviewDTO createReview(ReviewDTO reviewDTO);
+    ReviewDTO getReview(Long id);
+    ReviewDTO updateReview(Long id, ReviewDTO reviewDTO);
+    void deleteReview(Long id);
+    CursorPageDTO<ReviewDTO> getHostelReviews(Long hostelId, String cursor, int size);
+    ReviewHighlightsDTO getReviewHighlights(Long hostelId);
+    RatingDistributionDTO getRatingDistribution(Long hostelId);
+    void rebuildRatingStats();
+}
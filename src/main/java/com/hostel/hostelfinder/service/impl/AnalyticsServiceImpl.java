@@ -0,0 +1,132 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.dto.HostelAnalyticsDTO;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.ResourceNotFoundException;
+import com.hostel.hostelfinder.metrics.ServiceMetrics;
+import com.hostel.hostelfinder.repository.HostelCapacityView;
+import com.hostel.hostelfinder.repository.HostelDailyStatsRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.HostelStatsView;
+import com.hostel.hostelfinder.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Occupancy, revenue and ADR over a date range for a set of hostels, summed from the
+ * per-night rollup kept by {@link com.hostel.hostelfinder.analytics.HostelStatsRollup}. Capacity
+ * is today's total rooms times the nights in the range.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final HostelDailyStatsRepository statsRepository;
+    private final HostelRepository hostelRepository;
+    private final ServiceMetrics serviceMetrics;
+
+    @Value("${analytics.max-hostels:100}")
+    private int maxHostels;
+
+    @Value("${analytics.max-range-days:1096}")
+    private int maxRangeDays;
+
+    @Override
+    @Transactional(readOnly = true)
+    public HostelAnalyticsDTO getHostelAnalytics(Collection<Long> hostelIds, LocalDate from, LocalDate to, boolean daily) {
+        return serviceMetrics.record(ServiceMetrics.ANALYTICS, "hostels", () -> {
+            Set<Long> ids = hostelIds == null ? Set.of() : new TreeSet<>(hostelIds);
+            validate(ids, from, to);
+
+            Map<Long, HostelCapacityView> hostels = hostelRepository.findCapacityByIdIn(ids).stream()
+                    .collect(Collectors.toMap(HostelCapacityView::getId, Function.identity()));
+            if (hostels.size() < ids.size()) {
+                ids.removeAll(hostels.keySet());
+                throw new ResourceNotFoundException("Hostels not found: " + ids);
+            }
+            long nights = ChronoUnit.DAYS.between(from, to);
+            long totalRooms = hostels.values().stream().mapToLong(AnalyticsServiceImpl::roomsOf).sum();
+
+            Map<Long, HostelStatsView> sums = statsRepository.sumByHostel(ids, from, to).stream()
+                    .collect(Collectors.toMap(HostelStatsView::getHostelId, Function.identity()));
+
+            HostelAnalyticsDTO result = new HostelAnalyticsDTO();
+            result.setFrom(from);
+            result.setTo(to);
+            long roomsSold = 0;
+            BigDecimal revenue = BigDecimal.ZERO;
+            long cancelledRooms = 0;
+            for (Long id : ids) {
+                HostelStatsView sum = sums.get(id);
+                HostelAnalyticsDTO.Metrics row = sum == null
+                        ? metrics(0, BigDecimal.ZERO, 0, roomsOf(hostels.get(id)) * nights)
+                        : metrics(sum.getRoomsSold(), sum.getRevenue(), sum.getCancelledRooms(),
+                                roomsOf(hostels.get(id)) * nights);
+                row.setHostelId(id);
+                row.setHostelName(hostels.get(id).getName());
+                result.getHostels().add(row);
+                roomsSold += row.getRoomsSold();
+                revenue = revenue.add(row.getRevenue());
+                cancelledRooms += row.getCancelledRooms();
+            }
+            result.setTotal(metrics(roomsSold, revenue, cancelledRooms, totalRooms * nights));
+
+            if (daily) {
+                for (HostelStatsView day : statsRepository.sumByDay(ids, from, to)) {
+                    HostelAnalyticsDTO.Metrics row = metrics(day.getRoomsSold(), day.getRevenue(),
+                            day.getCancelledRooms(), totalRooms);
+                    row.setDate(day.getStayDate());
+                    result.getDaily().add(row);
+                }
+            }
+            return result;
+        });
+    }
+
+    private void validate(Set<Long> ids, LocalDate from, LocalDate to) {
+        if (ids.isEmpty()) {
+            throw new BadRequestException("At least one hostel ID is required");
+        }
+        if (ids.size() > maxHostels) {
+            throw new BadRequestException("At most " + maxHostels + " hostels can be analysed at once");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxRangeDays) {
+            throw new BadRequestException("Date range cannot exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private static long roomsOf(HostelCapacityView hostel) {
+        return hostel.getTotalRooms() == null ? 0 : hostel.getTotalRooms();
+    }
+
+    private static HostelAnalyticsDTO.Metrics metrics(long roomsSold, BigDecimal revenue, long cancelledRooms,
+                                                      long roomNightsAvailable) {
+        HostelAnalyticsDTO.Metrics metrics = new HostelAnalyticsDTO.Metrics();
+        metrics.setRoomsSold(roomsSold);
+        metrics.setRevenue(revenue);
+        metrics.setCancelledRooms(cancelledRooms);
+        metrics.setRoomNightsAvailable(roomNightsAvailable);
+        metrics.setOccupancy(roomNightsAvailable == 0 ? 0.0 : (double) roomsSold / roomNightsAvailable);
+        metrics.setAverageDailyRate(roomsSold == 0 ? BigDecimal.ZERO
+                : revenue.divide(BigDecimal.valueOf(roomsSold), 2, RoundingMode.HALF_UP));
+        metrics.setRevPar(roomNightsAvailable == 0 ? BigDecimal.ZERO
+                : revenue.divide(BigDecimal.valueOf(roomNightsAvailable), 2, RoundingMode.HALF_UP));
+        return metrics;
+    }
+}
@@ -0,0 +1,141 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.dto.AvailabilityCalendarDTO;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.ResourceNotFoundException;
+import com.hostel.hostelfinder.inventory.RoomInventory;
+import com.hostel.hostelfinder.metrics.ServiceMetrics;
+import com.hostel.hostelfinder.repository.BookedRoomsView;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelCapacityView;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Free rooms per night for a set of hostels: one query for the hostels' capacity, then every
+ * hostel's nights read from {@link RoomInventory}. Until the inventory has replayed, the nights
+ * come from one query over all overlapping stays instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final HostelRepository hostelRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomInventory roomInventory;
+    private final ServiceMetrics serviceMetrics;
+
+    @Value("${availability.max-hostels:200}")
+    private int maxHostels;
+
+    @Value("${availability.max-nights:90}")
+    private int maxNights;
+
+    @Override
+    public AvailabilityCalendarDTO getAvailability(Collection<Long> hostelIds, String pincode, LocalDate from, LocalDate to) {
+        return serviceMetrics.record(ServiceMetrics.SEARCH, "availability", () -> {
+            validate(hostelIds, pincode, from, to);
+            List<HostelCapacityView> hostels = hostelIds == null || hostelIds.isEmpty()
+                    ? hostelRepository.findCapacityByPincode(pincode)
+                    : findHostels(hostelIds);
+            if (hostels.size() > maxHostels) {
+                throw new BadRequestException("At most " + maxHostels + " hostels can be shown at once");
+            }
+
+            Set<Long> ids = new TreeSet<>();
+            hostels.forEach(hostel -> ids.add(hostel.getId()));
+            Map<Long, int[]> booked = ids.isEmpty()
+                    ? Map.of()
+                    : roomInventory.isReady()
+                            ? roomInventory.bookedNights(ids, from, to)
+                            : bookedFromDatabase(ids, from, to);
+
+            AvailabilityCalendarDTO calendar = new AvailabilityCalendarDTO();
+            calendar.setFrom(from);
+            calendar.setTo(to);
+            for (HostelCapacityView hostel : hostels) {
+                int totalRooms = hostel.getTotalRooms() == null ? 0 : hostel.getTotalRooms();
+                int[] free = booked.get(hostel.getId());
+                for (int night = 0; night < free.length; night++) {
+                    free[night] = Math.max(0, totalRooms - free[night]);
+                }
+                AvailabilityCalendarDTO.HostelAvailability row = new AvailabilityCalendarDTO.HostelAvailability();
+                row.setHostelId(hostel.getId());
+                row.setHostelName(hostel.getName());
+                row.setTotalRooms(hostel.getTotalRooms());
+                row.setFreeRooms(free);
+                calendar.getHostels().add(row);
+            }
+            return calendar;
+        });
+    }
+
+    private void validate(Collection<Long> hostelIds, String pincode, LocalDate from, LocalDate to) {
+        boolean byIds = hostelIds != null && !hostelIds.isEmpty();
+        boolean byPincode = pincode != null && !pincode.isBlank();
+        if (byIds == byPincode) {
+            throw new BadRequestException("Give either hostel IDs or a pincode");
+        }
+        if (byIds && hostelIds.size() > maxHostels) {
+            throw new BadRequestException("At most " + maxHostels + " hostels can be shown at once");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (from.isBefore(LocalDate.now())) {
+            throw new BadRequestException("from cannot be in the past");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxNights) {
+            throw new BadRequestException("At most " + maxNights + " nights can be shown at once");
+        }
+    }
+
+    private List<HostelCapacityView> findHostels(Collection<Long> hostelIds) {
+        Set<Long> requested = new TreeSet<>(hostelIds);
+        List<HostelCapacityView> hostels = hostelRepository.findCapacityByIdIn(requested);
+        if (hostels.size() < requested.size()) {
+            hostels.forEach(hostel -> requested.remove(hostel.getId()));
+            throw new ResourceNotFoundException("Hostels not found: " + requested);
+        }
+        hostels.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return hostels;
+    }
+
+    // Each stay marks its first and one-past-last night in the window; a running sum per hostel
+    // then gives the rooms booked on every night
+    private Map<Long, int[]> bookedFromDatabase(Set<Long> ids, LocalDate from, LocalDate to) {
+        int nights = (int) ChronoUnit.DAYS.between(from, to);
+        Map<Long, int[]> change = new HashMap<>();
+        ids.forEach(id -> change.put(id, new int[nights + 1]));
+        for (BookedRoomsView stay : bookingRepository.findStaysOverlapping(ids, from, to, RoomInventory.ACTIVE_STATUSES)) {
+            int[] hostel = change.get(stay.getHostelId());
+            LocalDate first = stay.getCheckInDate().isBefore(from) ? from : stay.getCheckInDate();
+            LocalDate end = stay.getCheckOutDate().isAfter(to) ? to : stay.getCheckOutDate();
+            hostel[(int) ChronoUnit.DAYS.between(from, first)] += stay.getNumberOfRooms();
+            hostel[(int) ChronoUnit.DAYS.between(from, end)] -= stay.getNumberOfRooms();
+        }
+        Map<Long, int[]> booked = new HashMap<>();
+        change.forEach((id, deltas) -> {
+            int[] nightly = new int[nights];
+            int running = 0;
+            for (int night = 0; night < nights; night++) {
+                running += deltas[night];
+                nightly[night] = running;
+            }
+            booked.put(id, nightly);
+        });
+        return booked;
+    }
+}
@@ -0,0 +1,178 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.hostelfinder.dto.BookingDTO;
+import com.hostel.hostelfinder.dto.ExportFormat;
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.ResourceNotFoundException;
+import com.hostel.hostelfinder.repository.BookingExportView;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.service.BookingExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a hostel's bookings as CSV or NDJSON straight from a database cursor. Rows are read
+ * as projections, never as managed entities, and flushed to the client every few hundred rows,
+ * so memory stays flat however much history the hostel has.
+ */
+@Slf4j
+@Service
+public class BookingExportServiceImpl implements BookingExportService {
+
+    private static final String CSV_HEADER = "id,userId,userName,hostelId,hostelName,checkInDate,checkOutDate,"
+            + "numberOfRooms,totalPrice,status,createdAt";
+
+    private final BookingRepository bookingRepository;
+    private final HostelRepository hostelRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushRows;
+
+    public BookingExportServiceImpl(BookingRepository bookingRepository,
+                                    HostelRepository hostelRepository,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${bookings.export.flush-rows:500}") int flushRows) {
+        this.bookingRepository = bookingRepository;
+        this.hostelRepository = hostelRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.flushRows = flushRows;
+    }
+
+    @Override
+    public StreamingResponseBody exportHostelBookings(Long hostelId, LocalDate from, LocalDate to,
+                                                      Collection<Booking.BookingStatus> statuses, ExportFormat format) {
+        // Checked up front: once streaming starts the status line has already gone out
+        if (!hostelRepository.existsById(hostelId)) {
+            throw new ResourceNotFoundException("Hostel not found");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        Collection<Booking.BookingStatus> filter = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(Booking.BookingStatus.class)
+                : EnumSet.copyOf(statuses);
+
+        return out -> {
+            long started = System.nanoTime();
+            try {
+                // The cursor must stay open on one connection for the whole write
+                Long rows = transactionTemplate.execute(status -> {
+                    try {
+                        return write(hostelId, from, to, filter, format, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                log.debug("Exported {} bookings for hostel {} in {} ms", rows, hostelId,
+                        (System.nanoTime() - started) / 1_000_000);
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; the read-only transaction is simply rolled back
+                throw e.getCause();
+            }
+        };
+    }
+
+    private long write(Long hostelId, LocalDate from, LocalDate to, Collection<Booking.BookingStatus> statuses,
+                       ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (Stream<BookingExportView> bookings = bookingRepository.streamForExport(hostelId, from, to, statuses)) {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<BookingExportView> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingExportView booking = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, booking);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(toDTO(booking)));
+                }
+                writer.write('\n');
+                if (++rows % flushRows == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, BookingExportView booking) throws IOException {
+        writer.write(String.valueOf(booking.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getUserId()));
+        writer.write(',');
+        writer.write(csv(booking.getUserName()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getHostelId()));
+        writer.write(',');
+        writer.write(csv(booking.getHostelName()));
+        writer.write(',');
+        writer.write(csv(booking.getCheckInDate()));
+        writer.write(',');
+        writer.write(csv(booking.getCheckOutDate()));
+        writer.write(',');
+        writer.write(csv(booking.getNumberOfRooms()));
+        writer.write(',');
+        writer.write(booking.getTotalPrice() == null ? "" : booking.getTotalPrice().toPlainString());
+        writer.write(',');
+        writer.write(csv(booking.getStatus()));
+        writer.write(',');
+        writer.write(csv(booking.getCreatedAt()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Spreadsheets would evaluate a user-supplied name starting with these as a formula
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static BookingDTO toDTO(BookingExportView booking) {
+        BookingDTO dto = new BookingDTO();
+        dto.setId(booking.getId());
+        dto.setUserId(booking.getUserId());
+        dto.setUserName(booking.getUserName());
+        dto.setHostelId(booking.getHostelId());
+        dto.setHostelName(booking.getHostelName());
+        dto.setCheckInDate(booking.getCheckInDate());
+        dto.setCheckOutDate(booking.getCheckOutDate());
+        dto.setNumberOfRooms(booking.getNumberOfRooms());
+        dto.setTotalPrice(booking.getTotalPrice());
+        dto.setStatus(booking.getStatus());
+        return dto;
+    }
+}
@@ -1,20 +1,34 @@
 package com.hostel.hostelfinder.service.impl;
 
+import com.hostel.hostelfinder.analytics.HostelStatsRollup;
+import com.hostel.hostelfinder.datasource.ReadYourWrites;
 import com.hostel.hostelfinder.dto.BookingDTO;
 import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.BookingEvent;
 import com.hostel.hostelfinder.entity.Hostel;
 import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.ResourceNotFoundException;
+import com.hostel.hostelfinder.exception.RoomsUnavailableException;
+import com.hostel.hostelfinder.exception.ServiceUnavailableException;
+import com.hostel.hostelfinder.inventory.AvailabilityLedger;
+import com.hostel.hostelfinder.inventory.RoomInventory;
+import com.hostel.hostelfinder.metrics.ServiceMetrics;
 import com.hostel.hostelfinder.repository.BookingRepository;
 import com.hostel.hostelfinder.repository.HostelRepository;
 import com.hostel.hostelfinder.repository.UserRepository;
 import com.hostel.hostelfinder.service.BookingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,129 +39,179 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final HostelRepository hostelRepository;
     private final UserRepository userRepository;
+    private final RoomInventory roomInventory;
+    private final AvailabilityLedger availabilityLedger;
+    private final HostelStatsRollup statsRollup;
+    private final ReadYourWrites readYourWrites;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ServiceMetrics serviceMetrics;
 
     @Override
     @Transactional
     public BookingDTO createBooking(BookingDTO bookingDTO) {
-        User user = userRepository.findById(bookingDTO.getUserId())
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        return serviceMetrics.record(ServiceMetrics.BOOKINGS, "create", () -> {
+            validateRequest(bookingDTO);
+            // Capacity is only checked and taken atomically in memory, so nothing is booked
+            // while the inventory is still being replayed at startup
+            if (!roomInventory.isReady()) {
+                throw new ServiceUnavailableException("Bookings open once room availability has loaded, try again shortly");
+            }
+            User user = userRepository.findById(bookingDTO.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
             
-        Hostel hostel = hostelRepository.findById(bookingDTO.getHostelId())
-            .orElseThrow(() -> new RuntimeException("Hostel not found"));
-
-        validateBooking(bookingDTO, hostel);
-
-        Booking booking = new Booking();
-        booking.setUser(user);
-        booking.setHostel(hostel);
-        booking.setCheckInDate(bookingDTO.getCheckInDate());
-        booking.setCheckOutDate(bookingDTO.getCheckOutDate());
-        booking.setNumberOfRooms(bookingDTO.getNumberOfRooms());
-        booking.setTotalPrice(calculateTotalPrice(bookingDTO, hostel));
-        booking.setStatus(Booking.BookingStatus.PENDING);
-
-        // Update available rooms
-        hostel.setAvailableRooms(hostel.getAvailableRooms() - booking.getNumberOfRooms());
-        hostelRepository.save(hostel);
-
-        return convertToDTO(bookingRepository.save(booking));
+            Hostel hostel = hostelRepository.findById(bookingDTO.getHostelId())
+                .orElseThrow(() -> new ResourceNotFoundException("Hostel not found"));
+
+            validateBooking(bookingDTO, hostel);
+            reserveRooms(bookingDTO, hostel);
+
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setHostel(hostel);
+            booking.setCheckInDate(bookingDTO.getCheckInDate());
+            booking.setCheckOutDate(bookingDTO.getCheckOutDate());
+            booking.setNumberOfRooms(bookingDTO.getNumberOfRooms());
+            booking.setTotalPrice(calculateTotalPrice(bookingDTO, hostel));
+            booking.setStatus(Booking.BookingStatus.PENDING);
+
+            Booking saved = bookingRepository.saveAndFlush(booking);
+            availabilityLedger.append(saved, BookingEvent.Type.CREATED);
+            refreshAvailableRooms(hostel.getId());
+            readYourWrites.recordWrite(user.getId());
+            return convertToDTO(saved);
+        });
     }
 
     @Override
     public BookingDTO getBooking(Long id) {
-        return convertToDTO(bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found")));
+        return convertToDTO(bookingRepository.findDetailedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found")));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDTO> getUserBookings(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return bookingRepository.findByUserId(user.getId()).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return readYourWrites.read(userId, () -> {
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("User not found");
+            }
+            return bookingRepository.findByUserId(userId).stream()
+                    .map(BookingServiceImpl::convertToDTO)
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
     public List<BookingDTO> getHostelBookings(Long hostelId) {
-        Hostel hostel = hostelRepository.findById(hostelId)
-            .orElseThrow(() -> new RuntimeException("Hostel not found"));
+        if (!hostelRepository.existsById(hostelId)) {
+            throw new ResourceNotFoundException("Hostel not found");
+        }
         return bookingRepository.findByHostelId(hostelId).stream()
-                .map(this::convertToDTO)
+                .map(BookingServiceImpl::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public BookingDTO cancelBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-
-        if (booking.getStatus() != Booking.BookingStatus.PENDING &&
-            booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
-            throw new RuntimeException("Cannot cancel booking in current status");
-        }
-
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-
-        // Return rooms to available pool
-        Hostel hostel = booking.getHostel();
-        hostel.setAvailableRooms(hostel.getAvailableRooms() + booking.getNumberOfRooms());
-        hostelRepository.save(hostel);
-
-        return convertToDTO(bookingRepository.save(booking));
+        return serviceMetrics.record(ServiceMetrics.BOOKINGS, "cancel", () -> {
+            Booking booking = bookingRepository.findDetailedById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+
+            // Only one concurrent cancel can win the status transition and return the rooms. The
+            // confirmed case is tried first so a confirm racing this cancel is still taken out of
+            // the analytics rollup.
+            LocalDateTime now = LocalDateTime.now();
+            boolean wasConfirmed = bookingRepository.transitionStatus(id, EnumSet.of(Booking.BookingStatus.CONFIRMED),
+                    Booking.BookingStatus.CANCELLED, now) == 1;
+            if (!wasConfirmed && bookingRepository.transitionStatus(id, EnumSet.of(Booking.BookingStatus.PENDING),
+                    Booking.BookingStatus.CANCELLED, now) == 0) {
+                throw new BadRequestException("Cannot cancel booking in current status");
+            }
+
+            booking.setStatus(Booking.BookingStatus.CANCELLED);
+            availabilityLedger.append(booking, BookingEvent.Type.CANCELLED);
+            readYourWrites.recordWrite(booking.getUser().getId());
+            if (wasConfirmed) {
+                statsRollup.recordCancelled(booking);
+            }
+
+            // Return rooms to available pool
+            Long hostelId = booking.getHostel().getId();
+            roomInventory.releaseAfterCommit(hostelId, booking.getCheckInDate(),
+                    booking.getCheckOutDate(), booking.getNumberOfRooms());
+            refreshAvailableRooms(hostelId);
+
+            return convertToDTO(booking);
+        });
     }
 
     @Override
     @Transactional
     public BookingDTO confirmBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        return serviceMetrics.record(ServiceMetrics.BOOKINGS, "confirm", () -> {
+            Booking booking = bookingRepository.findDetailedById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+
+            if (bookingRepository.transitionStatus(id, EnumSet.of(Booking.BookingStatus.PENDING),
+                    Booking.BookingStatus.CONFIRMED, LocalDateTime.now()) == 0) {
+                throw new BadRequestException("Can only confirm pending bookings");
+            }
+
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            availabilityLedger.append(booking, BookingEvent.Type.CONFIRMED);
+            readYourWrites.recordWrite(booking.getUser().getId());
+            statsRollup.recordConfirmed(booking);
+            return convertToDTO(booking);
+        });
+    }
 
-        if (booking.getStatus() != Booking.BookingStatus.PENDING) {
-            throw new RuntimeException("Can only confirm pending bookings");
+    // Repeats the DTO constraints for callers that skip bean validation: a negative room count
+    // would hand back other bookings' rooms, and an empty stay books nothing
+    private static void validateRequest(BookingDTO bookingDTO) {
+        if (bookingDTO.getUserId() == null || bookingDTO.getHostelId() == null) {
+            throw new BadRequestException("User and hostel are required");
+        }
+        if (bookingDTO.getCheckInDate() == null || bookingDTO.getCheckOutDate() == null) {
+            throw new BadRequestException("Check-in and check-out dates are required");
+        }
+        if (bookingDTO.getNumberOfRooms() == null || bookingDTO.getNumberOfRooms() < 1) {
+            throw new BadRequestException("At least one room must be booked");
         }
-
-        booking.setStatus(Booking.BookingStatus.CONFIRMED);
-        return convertToDTO(bookingRepository.save(booking));
     }
 
     private void validateBooking(BookingDTO bookingDTO, Hostel hostel) {
         if (bookingDTO.getCheckInDate().isBefore(LocalDate.now())) {
-            throw new RuntimeException("Check-in date cannot be in the past");
+            throw new BadRequestException("Check-in date cannot be in the past");
         }
 
-        if (bookingDTO.getCheckOutDate().isBefore(bookingDTO.getCheckInDate())) {
-            throw new RuntimeException("Check-out date must be after check-in date");
+        if (!bookingDTO.getCheckOutDate().isAfter(bookingDTO.getCheckInDate())) {
+            throw new BadRequestException("Check-out date must be after check-in date");
         }
+    }
 
-        if (bookingDTO.getNumberOfRooms() > hostel.getAvailableRooms()) {
-            throw new RuntimeException("Not enough rooms available");
+    private void reserveRooms(BookingDTO bookingDTO, Hostel hostel) {
+        if (!roomInventory.tryReserve(hostel.getId(), hostel.getTotalRooms(), bookingDTO.getCheckInDate(),
+                bookingDTO.getCheckOutDate(), bookingDTO.getNumberOfRooms())) {
+            throw new RoomsUnavailableException("Not enough rooms available for the selected dates");
         }
+    }
 
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                hostel.getId(),
-                bookingDTO.getCheckInDate(),
-                bookingDTO.getCheckOutDate()
-        );
-
-        int bookedRooms = overlappingBookings.stream()
-                .mapToInt(Booking::getNumberOfRooms)
-                .sum();
-
-        if (bookedRooms + bookingDTO.getNumberOfRooms() > hostel.getTotalRooms()) {
-            throw new RuntimeException("Not enough rooms available for the selected dates");
-        }
+    // Hostel.availableRooms only shows the rooms free tonight; whether a stay fits is decided per night above
+    private void refreshAvailableRooms(Long hostelId) {
+        hostelRepository.refreshAvailableRooms(List.of(hostelId), LocalDate.now(), RoomInventory.ACTIVE_STATUSES,
+                LocalDateTime.now());
+        eventPublisher.publishEvent(HostelChangedEvent.updated(hostelId));
     }
 
-    private BigDecimal calculateTotalPrice(BookingDTO bookingDTO, Hostel hostel) {
+    static BigDecimal calculateTotalPrice(BookingDTO bookingDTO, Hostel hostel) {
         long nights = ChronoUnit.DAYS.between(bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate());
         return hostel.getPricePerNight()
                 .multiply(BigDecimal.valueOf(nights))
                 .multiply(BigDecimal.valueOf(bookingDTO.getNumberOfRooms()));
     }
 
-    private BookingDTO convertToDTO(Booking booking) {
+    static BookingDTO convertToDTO(Booking booking) {
         BookingDTO dto = new BookingDTO();
         dto.setId(booking.getId());
         dto.setUserId(booking.getUser().getId());
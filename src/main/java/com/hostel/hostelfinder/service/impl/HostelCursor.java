@@ -0,0 +1,72 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.dto.HostelSort;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a hostel listing: the sort key and id of the last row already returned.
+ * Serialized as an opaque URL-safe token so clients cannot depend on its layout.
+ */
+@Getter
+@AllArgsConstructor
+class HostelCursor {
+
+    private final HostelSort sort;
+    private final BigDecimal price;
+    private final Double rating;
+    private final Long id;
+
+    static HostelCursor first(HostelSort sort) {
+        return new HostelCursor(sort, BigDecimal.valueOf(-1), Double.MAX_VALUE, 0L);
+    }
+
+    static HostelCursor after(HostelSort sort, Long id, BigDecimal price, Double rating) {
+        return new HostelCursor(sort, price, rating, id);
+    }
+
+    static HostelCursor decode(String token, HostelSort sort) {
+        if (token == null || token.isBlank()) {
+            return first(sort);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3 || HostelSort.valueOf(parts[0]) != sort) {
+                throw new BadRequestException("Cursor does not match the requested sort");
+            }
+            Long id = Long.valueOf(parts[2]);
+            boolean noKey = parts[1].isEmpty();
+            switch (sort) {
+                case PRICE:
+                    return new HostelCursor(sort, noKey ? null : new BigDecimal(parts[1]), null, id);
+                case RATING:
+                    return new HostelCursor(sort, null, noKey ? null : Double.valueOf(parts[1]), id);
+                default:
+                    return new HostelCursor(sort, null, null, id);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    static String encode(HostelCursor cursor) {
+        String key;
+        switch (cursor.getSort()) {
+            case PRICE:
+                key = cursor.getPrice() == null ? "" : cursor.getPrice().toPlainString();
+                break;
+            case RATING:
+                key = cursor.getRating() == null ? "" : String.valueOf(cursor.getRating());
+                break;
+            default:
+                key = "";
+        }
+        String raw = cursor.getSort().name() + ":" + key + ":" + cursor.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
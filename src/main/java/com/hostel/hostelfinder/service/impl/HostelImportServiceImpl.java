@@ -0,0 +1,316 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.dto.ImportFormat;
+import com.hostel.hostelfinder.dto.ImportReportDTO;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.service.HostelImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams hostels from NDJSON or CSV and writes them with JDBC batch inserts, one short
+ * transaction per batch. Rows are read line by line, so memory is bounded by the batch size
+ * rather than the upload. A batch the database rejects is retried row by row.
+ */
+@Service
+public class HostelImportServiceImpl implements HostelImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_HOSTEL = "INSERT INTO hostels (name, description, address, pincode, "
+            + "price_per_night, total_rooms, available_rooms, rating, total_reviews, version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?, ?)";
+    private static final String INSERT_FACILITY = "INSERT INTO hostel_facilities (hostel_id, facilities) VALUES (?, ?)";
+    private static final String INSERT_IMAGE = "INSERT INTO hostel_images (hostel_id, images) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public HostelImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${hostel.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ImportReportDTO importHostels(InputStream input, ImportFormat format) throws IOException {
+        long started = System.nanoTime();
+        ImportReportDTO report = new ImportReportDTO();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> csvColumns = format == ImportFormat.CSV ? readCsvHeader(reader) : null;
+        long line = format == ImportFormat.CSV ? 1 : 0;
+
+        List<HostelDTO> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            report.setRowsRead(report.getRowsRead() + 1);
+            try {
+                HostelDTO hostel = format == ImportFormat.CSV
+                        ? parseCsvRow(text, csvColumns)
+                        : objectMapper.readValue(text, HostelDTO.class);
+                validate(hostel);
+                batch.add(hostel);
+                batchLines.add(line);
+            } catch (JsonProcessingException e) {
+                fail(report, line, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                fail(report, line, e.getMessage());
+            }
+            if (batch.size() == batchSize) {
+                writeBatch(batch, batchLines, report);
+            }
+        }
+        writeBatch(batch, batchLines, report);
+
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        report.setRowsPerSecond(report.getRowsImported() * 1_000_000_000.0 / Math.max(1, System.nanoTime() - started));
+        return report;
+    }
+
+    private void writeBatch(List<HostelDTO> batch, List<Long> batchLines, ImportReportDTO report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            imported(transactionTemplate.execute(status -> insert(batch)), report);
+        } catch (DataAccessException e) {
+            if (batch.size() == 1) {
+                rejected(batchLines.get(0), e, report);
+            } else {
+                writeRowByRow(batch, batchLines, report);
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    // The failed batch was rolled back as a whole, so each row is retried on its own and only
+    // the rows the database refuses are reported
+    private void writeRowByRow(List<HostelDTO> batch, List<Long> batchLines, ImportReportDTO report) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            List<HostelDTO> row = List.of(batch.get(i));
+            try {
+                ids.addAll(transactionTemplate.execute(status -> insert(row)));
+            } catch (DataAccessException e) {
+                rejected(batchLines.get(i), e, report);
+            }
+        }
+        imported(ids, report);
+    }
+
+    private void imported(List<Long> ids, ImportReportDTO report) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        report.setRowsImported(report.getRowsImported() + ids.size());
+        eventPublisher.publishEvent(HostelChangedEvent.updated(ids));
+    }
+
+    private static void rejected(long line, DataAccessException e, ImportReportDTO report) {
+        fail(report, line, "Rejected by database: " + e.getMostSpecificCause().getMessage());
+    }
+
+    private List<Long> insert(List<HostelDTO> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_HOSTEL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        HostelDTO hostel = batch.get(i);
+                        ps.setString(1, hostel.getName());
+                        ps.setString(2, hostel.getDescription());
+                        ps.setString(3, hostel.getAddress());
+                        ps.setString(4, hostel.getPincode());
+                        ps.setBigDecimal(5, hostel.getPricePerNight());
+                        ps.setInt(6, hostel.getTotalRooms());
+                        ps.setInt(7, hostel.getAvailableRooms());
+                        ps.setTimestamp(8, now);
+                        ps.setTimestamp(9, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keys);
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        List<Object[]> facilities = new ArrayList<>();
+        List<Object[]> images = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Long id = ((Number) keys.getKeyList().get(i).values().iterator().next()).longValue();
+            ids.add(id);
+            HostelDTO hostel = batch.get(i);
+            if (hostel.getFacilities() != null) {
+                hostel.getFacilities().forEach(facility -> facilities.add(new Object[]{id, facility}));
+            }
+            if (hostel.getImages() != null) {
+                hostel.getImages().forEach(image -> images.add(new Object[]{id, image}));
+            }
+        }
+        if (!facilities.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_FACILITY, facilities);
+        }
+        if (!images.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE, images);
+        }
+        return ids;
+    }
+
+    private static void validate(HostelDTO hostel) {
+        if (hostel.getName() == null || hostel.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (hostel.getPincode() == null || hostel.getPincode().isBlank()) {
+            throw new IllegalArgumentException("pincode is required");
+        }
+        if (hostel.getPricePerNight() == null || hostel.getPricePerNight().signum() < 0) {
+            throw new IllegalArgumentException("pricePerNight must be zero or more");
+        }
+        if (hostel.getTotalRooms() == null || hostel.getTotalRooms() <= 0) {
+            throw new IllegalArgumentException("totalRooms must be positive");
+        }
+        if (hostel.getAvailableRooms() == null) {
+            hostel.setAvailableRooms(hostel.getTotalRooms());
+        }
+        if (hostel.getAvailableRooms() < 0 || hostel.getAvailableRooms() > hostel.getTotalRooms()) {
+            throw new IllegalArgumentException("availableRooms must be between 0 and totalRooms");
+        }
+    }
+
+    private static void fail(ImportReportDTO report, long line, String message) {
+        report.setRowsFailed(report.getRowsFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReportDTO.RowError(line, message));
+        }
+    }
+
+    private static Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BadRequestException("CSV import requires a header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        for (String required : List.of("name", "pincode", "pricePerNight", "totalRooms")) {
+            if (!columns.containsKey(required)) {
+                throw new BadRequestException("CSV header is missing column " + required);
+            }
+        }
+        return columns;
+    }
+
+    // Multi-valued columns (facilities, images) are separated by '|'
+    private static HostelDTO parseCsvRow(String text, Map<String, Integer> columns) {
+        List<String> values = splitCsv(text);
+        HostelDTO hostel = new HostelDTO();
+        hostel.setName(column(values, columns, "name"));
+        hostel.setDescription(column(values, columns, "description"));
+        hostel.setAddress(column(values, columns, "address"));
+        hostel.setPincode(column(values, columns, "pincode"));
+        String price = column(values, columns, "pricePerNight");
+        hostel.setPricePerNight(price == null ? null : new BigDecimal(price));
+        String totalRooms = column(values, columns, "totalRooms");
+        hostel.setTotalRooms(totalRooms == null ? null : Integer.valueOf(totalRooms));
+        String availableRooms = column(values, columns, "availableRooms");
+        hostel.setAvailableRooms(availableRooms == null ? null : Integer.valueOf(availableRooms));
+        hostel.setFacilities(listColumn(values, columns, "facilities"));
+        hostel.setImages(listColumn(values, columns, "images"));
+        return hostel;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> listColumn(List<String> values, Map<String, Integer> columns, String name) {
+        String value = column(values, columns, name);
+        if (value == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(value.split("\\s*\\|\\s*")));
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
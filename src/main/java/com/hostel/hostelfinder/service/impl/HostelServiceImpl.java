@@ -1,39 +1,261 @@
 package com.hostel.hostelfinder.service.impl;
 
+import com.hostel.hostelfinder.ai.AiSuggestionClient;
+import com.hostel.hostelfinder.cache.HostelCache;
+import com.hostel.hostelfinder.dto.CursorPageDTO;
 import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.dto.HostelSort;
+import com.hostel.hostelfinder.dto.SmartSearchResultDTO;
+import com.hostel.hostelfinder.dto.SuggestionDTO;
 import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.exception.AIServiceException;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.ResourceNotFoundException;
+import com.hostel.hostelfinder.exception.ServiceUnavailableException;
+import com.hostel.hostelfinder.geo.PincodeProximityIndex;
+import com.hostel.hostelfinder.inventory.RoomInventory;
+import com.hostel.hostelfinder.metrics.ServiceMetrics;
+import com.hostel.hostelfinder.repository.HostelKeyView;
 import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.search.HostelRankingIndex;
+import com.hostel.hostelfinder.search.HostelScorer;
+import com.hostel.hostelfinder.search.HostelSearchIndex;
+import com.hostel.hostelfinder.search.HostelTextIndex;
+import com.hostel.hostelfinder.search.TypeaheadIndex;
 import com.hostel.hostelfinder.service.HostelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class HostelServiceImpl implements HostelService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final HostelRepository hostelRepository;
+    private final RoomInventory roomInventory;
+    private final HostelSearchIndex hostelSearchIndex;
+    private final HostelTextIndex hostelTextIndex;
+    private final TypeaheadIndex typeaheadIndex;
+    private final HostelRankingIndex hostelRankingIndex;
+    private final HostelScorer hostelScorer;
+    private final PincodeProximityIndex pincodeProximityIndex;
+    private final AiSuggestionClient aiSuggestionClient;
+    private final HostelCache hostelCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ServiceMetrics serviceMetrics;
+
+    @Value("${geo.suggested-locations:5}")
+    private int suggestedLocations;
 
     @Override
-    public List<HostelDTO> getAllHostels() {
-        return hostelRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<HostelDTO> getAllHostels(HostelSort sort, String cursor, int size) {
+        HostelCursor position = HostelCursor.decode(cursor, sort);
+        int limit = pageSize(size);
+        // One extra row tells us whether another page exists
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<HostelKeyView> keys;
+        switch (sort) {
+            case PRICE:
+                keys = hostelRepository.findKeyPageByPrice(position.getPrice(), position.getId(), page);
+                break;
+            case RATING:
+                keys = hostelRepository.findKeyPageByRating(position.getRating(), position.getId(), page);
+                break;
+            default:
+                keys = hostelRepository.findKeyPageById(position.getId(), page);
+        }
+        String nextCursor = null;
+        if (keys.size() > limit) {
+            keys = keys.subList(0, limit);
+            HostelKeyView last = keys.get(limit - 1);
+            nextCursor = HostelCursor.encode(HostelCursor.after(sort, last.getId(), last.getPricePerNight(), last.getRating()));
+        }
+        // Only the keys come from the query; the DTOs themselves are served from the cache
+        return new CursorPageDTO<>(findInOrder(keys.stream()
+                .map(HostelKeyView::getId)
+                .collect(Collectors.toList())), nextCursor);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public HostelDTO getHostel(Long id) {
-        Hostel hostel = hostelRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Hostel not found"));
-        return convertToDTO(hostel);
+        return hostelCache.get(id, key -> convertToDTO(hostelRepository.findById(key)
+                .orElseThrow(() -> new ResourceNotFoundException("Hostel not found"))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<HostelDTO> searchHostels(String location, BigDecimal maxPrice, List<String> facilities,
+                                                  HostelSort sort, String cursor, int size) {
+        return serviceMetrics.record(ServiceMetrics.SEARCH, "search", () -> {
+            List<HostelSearchIndex.Entry> matches = hostelSearchIndex.isReady()
+                    ? new ArrayList<>(hostelSearchIndex.search(location, maxPrice, facilities))
+                    : searchDatabase(location, maxPrice, facilities);
+
+            // Candidates are only keys; entities are loaded for the requested page alone
+            Comparator<HostelSearchIndex.Entry> order = searchOrder(sort);
+            matches.sort(order);
+            int from = 0;
+            if (cursor != null && !cursor.isBlank()) {
+                HostelCursor last = HostelCursor.decode(cursor, sort);
+                HostelSearchIndex.Entry after = new HostelSearchIndex.Entry(last.getId(), null,
+                        last.getPrice(), last.getRating(), null, null);
+                int position = Collections.binarySearch(matches, after, order);
+                from = position >= 0 ? position + 1 : -position - 1;
+            }
+            int to = Math.min(matches.size(), from + pageSize(size));
+            List<HostelSearchIndex.Entry> page = matches.subList(from, to);
+            String nextCursor = null;
+            if (to < matches.size()) {
+                HostelSearchIndex.Entry last = page.get(page.size() - 1);
+                nextCursor = HostelCursor.encode(HostelCursor.after(sort, last.getId(), last.getPricePerNight(), last.getRating()));
+            }
+            return new CursorPageDTO<>(findInOrder(page.stream()
+                    .map(HostelSearchIndex.Entry::getId)
+                    .collect(Collectors.toList())), nextCursor);
+        });
     }
 
     @Override
-    public List<HostelDTO> searchHostels(String location, BigDecimal maxPrice, List<String> facilities) {
+    public SmartSearchResultDTO smartSearch(String pincode) {
+        return serviceMetrics.record(ServiceMetrics.SEARCH, "smart_search", () -> {
+            SmartSearchResultDTO result = new SmartSearchResultDTO();
+            result.setSearchedPincode(pincode);
+            List<Long> direct = hostelSearchIndex.isReady()
+                    ? hostelSearchIndex.search(pincode, null, null).stream()
+                            .map(HostelSearchIndex.Entry::getId)
+                            .collect(Collectors.toList())
+                    : hostelRepository.findByPincode(pincode).stream()
+                            .map(Hostel::getId)
+                            .collect(Collectors.toList());
+            if (!direct.isEmpty()) {
+                result.setExactMatch(true);
+                result.setDirectResults(findInOrder(direct));
+                result.setSuggestedResults(List.of());
+                result.setSuggestedLocations(List.of());
+                return result;
+            }
+
+            Predicate<String> hasRooms = hostelSearchIndex.isReady()
+                    ? hostelSearchIndex::hasAvailableRooms
+                    : candidate -> hostelRepository.existsByPincodeAndAvailableRoomsGreaterThan(candidate, 0);
+            List<String> nearby = nearbyLocations(pincode, hasRooms);
+            List<Long> suggested = new ArrayList<>();
+            for (String location : nearby) {
+                List<HostelSearchIndex.Entry> entries = hostelSearchIndex.isReady()
+                        ? hostelSearchIndex.search(location, null, null)
+                        : searchDatabase(location, null, null);
+                entries.stream()
+                        .filter(entry -> entry.getAvailableRooms() != null && entry.getAvailableRooms() > 0)
+                        .limit(MAX_PAGE_SIZE - suggested.size())
+                        .forEach(entry -> suggested.add(entry.getId()));
+            }
+            result.setExactMatch(false);
+            result.setDirectResults(List.of());
+            result.setSuggestedResults(findInOrder(suggested));
+            result.setSuggestedLocations(nearby);
+            result.setAiSuggestion(nearby.isEmpty()
+                    ? "No hostels found in pincode " + pincode + "."
+                    : "No hostels found in pincode " + pincode + ". Here are some suggestions from nearby areas: "
+                            + String.join(", ", nearby));
+            return result;
+        });
+    }
+
+    // Keyword queries have no database fallback: until the index has been built the request is
+    // refused rather than answered by a LIKE scan over every description, or by an empty list
+    // that caches would keep under the catalog version
+    @Override
+    public List<HostelDTO> textSearch(String query, String location, BigDecimal maxPrice, int size) {
+        return serviceMetrics.record(ServiceMetrics.SEARCH, "text_search", () -> {
+            if (query == null || query.isBlank()) {
+                throw new BadRequestException("Search text is required");
+            }
+            requireTextSearchReady();
+            return findInOrder(hostelTextIndex.search(query, location, maxPrice, pageSize(size)).stream()
+                    .map(HostelTextIndex.Hit::getId)
+                    .collect(Collectors.toList()));
+        });
+    }
+
+    @Override
+    public void requireTextSearchReady() {
+        if (!hostelTextIndex.isReady()) {
+            throw new ServiceUnavailableException("Text search is still being indexed, try again shortly");
+        }
+    }
+
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return serviceMetrics.record(ServiceMetrics.SEARCH, "suggest", () -> typeaheadIndex
+                .suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS)).stream()
+                .map(match -> {
+                    SuggestionDTO dto = new SuggestionDTO();
+                    dto.setType(match.getKind().name());
+                    dto.setText(match.getText());
+                    dto.setHostelCount(match.getHostelCount());
+                    return dto;
+                })
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<HostelDTO> topHostels(String pincode, boolean availableOnly, int size) {
+        return serviceMetrics.record(ServiceMetrics.SEARCH, "top", () -> {
+            if (pincode == null || pincode.isBlank()) {
+                throw new BadRequestException("Pincode is required");
+            }
+            int limit = pageSize(size);
+            List<Long> ids = hostelRankingIndex.isReady()
+                    ? hostelRankingIndex.top(pincode, availableOnly, limit)
+                    : hostelRepository.findByPincode(pincode).stream()
+                            .filter(hostel -> !availableOnly
+                                    || (hostel.getAvailableRooms() != null && hostel.getAvailableRooms() > 0))
+                            .sorted(Comparator.comparingDouble(hostelScorer::score).reversed()
+                                    .thenComparing(Hostel::getId))
+                            .limit(limit)
+                            .map(Hostel::getId)
+                            .collect(Collectors.toList());
+            return findInOrder(ids);
+        });
+    }
+
+    // The local pincode table answers without a network hop; the AI service only covers pincodes
+    // it lacks, and any AI failure falls back to whatever the table can offer
+    private List<String> nearbyLocations(String pincode, Predicate<String> hasRooms) {
+        if (aiSuggestionClient.isEnabled() && !pincodeProximityIndex.contains(pincode)) {
+            try {
+                return aiSuggestionClient.similarLocations(pincode).stream()
+                        .filter(hasRooms)
+                        .limit(suggestedLocations)
+                        .collect(Collectors.toList());
+            } catch (AIServiceException e) {
+                // Degrade to local suggestions
+            }
+        }
+        return pincodeProximityIndex.nearest(pincode, suggestedLocations, hasRooms);
+    }
+
+    // Used until the search index has finished its first build
+    private List<HostelSearchIndex.Entry> searchDatabase(String location, BigDecimal maxPrice, List<String> facilities) {
         List<Hostel> hostels;
         if (maxPrice == null && (facilities == null || facilities.isEmpty())) {
             hostels = hostelRepository.findByPincode(location);
@@ -46,34 +268,72 @@ public class HostelServiceImpl implements HostelService {
             }
         }
         return hostels.stream()
-                .map(this::convertToDTO)
+                .map(hostel -> new HostelSearchIndex.Entry(hostel.getId(), hostel.getPincode(),
+                        hostel.getPricePerNight(), hostel.getRating(), hostel.getAvailableRooms(), null))
                 .collect(Collectors.toList());
     }
 
+    private static Comparator<HostelSearchIndex.Entry> searchOrder(HostelSort sort) {
+        switch (sort) {
+            case PRICE:
+                return Comparator.comparing(HostelSearchIndex.Entry::getPricePerNight,
+                                Comparator.nullsFirst(Comparator.<BigDecimal>naturalOrder()))
+                        .thenComparing(HostelSearchIndex.Entry::getId);
+            case RATING:
+                return Comparator.comparing(HostelSearchIndex.Entry::getRating,
+                                Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+                        .thenComparing(HostelSearchIndex.Entry::getId);
+            default:
+                return Comparator.comparing(HostelSearchIndex.Entry::getId);
+        }
+    }
+
+    private static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
     @Override
     @Transactional
     public HostelDTO createHostel(HostelDTO hostelDTO) {
         Hostel hostel = new Hostel();
         updateHostelFromDTO(hostel, hostelDTO);
-        return convertToDTO(hostelRepository.save(hostel));
+        Hostel saved = hostelRepository.save(hostel);
+        eventPublisher.publishEvent(HostelChangedEvent.updated(saved.getId()));
+        return convertToDTO(saved);
     }
 
     @Override
     @Transactional
     public HostelDTO updateHostel(Long id, HostelDTO hostelDTO) {
         Hostel hostel = hostelRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Hostel not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Hostel not found"));
         updateHostelFromDTO(hostel, hostelDTO);
-        return convertToDTO(hostelRepository.save(hostel));
+        Hostel saved = hostelRepository.save(hostel);
+        eventPublisher.publishEvent(HostelChangedEvent.updated(id));
+        return convertToDTO(saved);
     }
 
     @Override
     @Transactional
     public void deleteHostel(Long id) {
         hostelRepository.deleteById(id);
+        roomInventory.evictAfterCommit(id);
+        eventPublisher.publishEvent(HostelChangedEvent.removed(id));
     }
 
-    private HostelDTO convertToDTO(Hostel hostel) {
+    private List<HostelDTO> findInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, HostelDTO> hostels = hostelCache.getAll(ids, missing -> hostelRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Hostel::getId, HostelServiceImpl::convertToDTO)));
+        return ids.stream()
+                .map(hostels::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    static HostelDTO convertToDTO(Hostel hostel) {
         HostelDTO dto = new HostelDTO();
         dto.setId(hostel.getId());
         dto.setName(hostel.getName());
@@ -83,13 +343,20 @@ public class HostelServiceImpl implements HostelService {
         dto.setPricePerNight(hostel.getPricePerNight());
         dto.setTotalRooms(hostel.getTotalRooms());
         dto.setAvailableRooms(hostel.getAvailableRooms());
-        dto.setFacilities(hostel.getFacilities());
-        dto.setImages(hostel.getImages());
+        dto.setFacilities(copyOf(hostel.getFacilities()));
+        dto.setImages(copyOf(hostel.getImages()));
         dto.setRating(hostel.getRating());
         dto.setTotalReviews(hostel.getTotalReviews());
+        dto.setVersion(hostel.getVersion());
+        dto.setUpdatedAt(hostel.getUpdatedAt());
         return dto;
     }
 
+    // Detaches the DTO from Hibernate's lazy collection wrappers
+    private static List<String> copyOf(List<String> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
+
     private void updateHostelFromDTO(Hostel hostel, HostelDTO dto) {
         hostel.setName(dto.getName());
         hostel.setDescription(dto.getDescription());
@@ -0,0 +1,46 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a hostel's review feed (newest first): createdAt and id of the last
+ * review already returned, serialized as an opaque URL-safe token.
+ */
+@Getter
+@AllArgsConstructor
+class ReviewCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    static ReviewCursor first() {
+        return new ReviewCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+    }
+
+    static ReviewCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return first();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new ReviewCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
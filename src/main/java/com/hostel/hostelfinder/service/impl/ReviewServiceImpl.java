@@ -0,0 +1,256 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.cache.ReviewHighlightsCache;
+import com.hostel.hostelfinder.dto.CursorPageDTO;
+import com.hostel.hostelfinder.dto.RatingDistributionDTO;
+import com.hostel.hostelfinder.dto.ReviewDTO;
+import com.hostel.hostelfinder.dto.ReviewHighlightsDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.HostelRatingStats;
+import com.hostel.hostelfinder.entity.Review;
+import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.event.ReviewChangedEvent;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.ResourceNotFoundException;
+import com.hostel.hostelfinder.repository.HostelRatingStatsRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.ReviewFeedView;
+import com.hostel.hostelfinder.repository.ReviewRepository;
+import com.hostel.hostelfinder.repository.UserRepository;
+import com.hostel.hostelfinder.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewServiceImpl implements ReviewService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReviewRepository reviewRepository;
+    private final HostelRatingStatsRepository ratingStatsRepository;
+    private final HostelRepository hostelRepository;
+    private final UserRepository userRepository;
+    private final ReviewHighlightsCache reviewHighlightsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reviews.highlights-size:5}")
+    private int highlightsSize;
+
+    @Override
+    @Transactional
+    public ReviewDTO createReview(ReviewDTO reviewDTO) {
+        if (reviewDTO.getUserId() == null) {
+            throw new BadRequestException("User ID is required");
+        }
+        User user = userRepository.findById(reviewDTO.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Hostel hostel = hostelRepository.findById(reviewDTO.getHostelId())
+                .orElseThrow(() -> new ResourceNotFoundException("Hostel not found"));
+
+        Review review = new Review();
+        review.setUser(user);
+        review.setHostel(hostel);
+        review.setRating(reviewDTO.getRating());
+        review.setComment(reviewDTO.getComment());
+        Review saved = reviewRepository.save(review);
+
+        adjustRating(hostel.getId(), 0, saved.getRating());
+        eventPublisher.publishEvent(new ReviewChangedEvent(hostel.getId()));
+        return convertToDTO(saved);
+    }
+
+    @Override
+    public ReviewDTO getReview(Long id) {
+        return convertToDTO(reviewRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review not found")));
+    }
+
+    @Override
+    @Transactional
+    public ReviewDTO updateReview(Long id, ReviewDTO reviewDTO) {
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review not found"));
+        int previousRating = review.getRating();
+        review.setRating(reviewDTO.getRating());
+        review.setComment(reviewDTO.getComment());
+        Review saved = reviewRepository.save(review);
+
+        if (previousRating != saved.getRating()) {
+            adjustRating(saved.getHostel().getId(), previousRating, saved.getRating());
+        }
+        eventPublisher.publishEvent(new ReviewChangedEvent(saved.getHostel().getId()));
+        return convertToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteReview(Long id) {
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review not found"));
+        Long hostelId = review.getHostel().getId();
+        int rating = review.getRating();
+        reviewRepository.delete(review);
+        adjustRating(hostelId, rating, 0);
+        eventPublisher.publishEvent(new ReviewChangedEvent(hostelId));
+    }
+
+    @Override
+    public CursorPageDTO<ReviewDTO> getHostelReviews(Long hostelId, String cursor, int size) {
+        if (!hostelRepository.existsById(hostelId)) {
+            throw new ResourceNotFoundException("Hostel not found");
+        }
+        ReviewCursor position = ReviewCursor.decode(cursor);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells us whether another page exists
+        List<ReviewFeedView> rows = reviewRepository.findFeedPage(hostelId, position.getCreatedAt(), position.getId(),
+                PageRequest.of(0, limit + 1));
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            ReviewFeedView last = rows.get(limit - 1);
+            nextCursor = ReviewCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageDTO<>(toDTOs(rows), nextCursor);
+    }
+
+    @Override
+    public ReviewHighlightsDTO getReviewHighlights(Long hostelId) {
+        if (!hostelRepository.existsById(hostelId)) {
+            throw new ResourceNotFoundException("Hostel not found");
+        }
+        return reviewHighlightsCache.get(hostelId, id -> {
+            ReviewCursor first = ReviewCursor.first();
+            PageRequest top = PageRequest.of(0, highlightsSize);
+            return new ReviewHighlightsDTO(id,
+                    toDTOs(reviewRepository.findFeedPage(id, first.getCreatedAt(), first.getId(), top)),
+                    toDTOs(reviewRepository.findMostHelpful(id, top)));
+        });
+    }
+
+    @Override
+    public RatingDistributionDTO getRatingDistribution(Long hostelId) {
+        HostelRatingStats stats = ratingStatsRepository.findById(hostelId).orElseGet(() -> {
+            HostelRatingStats empty = new HostelRatingStats();
+            empty.setHostelId(hostelId);
+            return empty;
+        });
+        RatingDistributionDTO dto = new RatingDistributionDTO();
+        dto.setHostelId(hostelId);
+        dto.setAverageRating(stats.getAverage());
+        dto.setTotalReviews(stats.getRatingCount());
+        Map<Integer, Long> stars = new LinkedHashMap<>();
+        for (int rating = 5; rating >= 1; rating--) {
+            stars.put(rating, stats.getStars(rating));
+        }
+        dto.setStars(stars);
+        return dto;
+    }
+
+    @Override
+    @Transactional
+    public void rebuildRatingStats() {
+        Map<Long, HostelRatingStats> rebuilt = new HashMap<>();
+        for (Object[] row : reviewRepository.countByHostelAndRating()) {
+            Long hostelId = (Long) row[0];
+            int rating = ((Number) row[1]).intValue();
+            long count = ((Number) row[2]).longValue();
+            HostelRatingStats stats = rebuilt.computeIfAbsent(hostelId, id -> {
+                HostelRatingStats created = new HostelRatingStats();
+                created.setHostelId(id);
+                return created;
+            });
+            stats.apply(rating, count);
+        }
+        ratingStatsRepository.deleteAllInBatch();
+        ratingStatsRepository.saveAll(rebuilt.values());
+        LocalDateTime now = LocalDateTime.now();
+        rebuilt.values().forEach(stats -> hostelRepository.updateRating(stats.getHostelId(),
+                stats.getAverage(), (int) stats.getRatingCount(), now));
+        eventPublisher.publishEvent(HostelChangedEvent.updated(rebuilt.keySet()));
+        log.info("Rebuilt rating aggregates for {} hostels", rebuilt.size());
+    }
+
+    // Called on this bean rather than through its proxy, so the template supplies the transaction
+    // that @Transactional on rebuildRatingStats would
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (ratingStatsRepository.count() == 0 && reviewRepository.count() > 0) {
+                rebuildRatingStats();
+            }
+        });
+    }
+
+    /**
+     * Moves one review from {@code oldRating} to {@code newRating} (0 meaning absent) under a row
+     * lock on the hostel's aggregate, then mirrors the result onto Hostel.rating/totalReviews.
+     */
+    private void adjustRating(Long hostelId, int oldRating, int newRating) {
+        ratingStatsRepository.ensureExists(hostelId);
+        HostelRatingStats stats = ratingStatsRepository.findForUpdate(hostelId)
+                .orElseThrow(() -> new IllegalStateException("Rating aggregate missing for hostel " + hostelId));
+        if (oldRating != 0) {
+            stats.apply(oldRating, -1);
+        }
+        if (newRating != 0) {
+            stats.apply(newRating, 1);
+        }
+        hostelRepository.updateRating(hostelId, stats.getAverage(), (int) stats.getRatingCount(), LocalDateTime.now());
+        eventPublisher.publishEvent(HostelChangedEvent.updated(hostelId));
+    }
+
+    private static List<ReviewDTO> toDTOs(List<ReviewFeedView> rows) {
+        return rows.stream()
+                .map(ReviewServiceImpl::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private static ReviewDTO convertToDTO(ReviewFeedView view) {
+        ReviewDTO dto = new ReviewDTO();
+        dto.setId(view.getId());
+        dto.setHostelId(view.getHostelId());
+        dto.setUserId(view.getUserId());
+        dto.setRating(view.getRating());
+        dto.setComment(view.getComment());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setUpdatedAt(view.getUpdatedAt());
+        dto.setUserFullName(view.getUserFullName());
+        dto.setUserEmail(view.getUserEmail());
+        dto.setHostelName(view.getHostelName());
+        return dto;
+    }
+
+    private ReviewDTO convertToDTO(Review review) {
+        ReviewDTO dto = new ReviewDTO();
+        dto.setId(review.getId());
+        dto.setHostelId(review.getHostel().getId());
+        dto.setUserId(review.getUser().getId());
+        dto.setRating(review.getRating());
+        dto.setComment(review.getComment());
+        dto.setCreatedAt(review.getCreatedAt());
+        dto.setUpdatedAt(review.getUpdatedAt());
+        dto.setUserFullName(review.getUser().getFullName());
+        dto.setUserEmail(review.getUser().getEmail());
+        dto.setHostelName(review.getHostel().getName());
+        return dto;
+    }
+}
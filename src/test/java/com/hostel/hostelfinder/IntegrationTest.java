@@ -0,0 +1,28 @@
+package com.hostel.hostelfinder;
+
+import com.hostel.hostelfinder.analytics.HostelStatsRollup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Full application against the in-memory database of the {@code test} profile. Subclasses share
+ * one context, so each test creates the hostels and users it needs rather than relying on a clean
+ * database.
+ * <p>
+ * The stats rollup is mocked out: its upserts and backfill are MySQL-only SQL.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @MockBean
+    protected HostelStatsRollup statsRollup;
+}
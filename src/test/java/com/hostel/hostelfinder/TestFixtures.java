@@ -0,0 +1,62 @@
+package com.hostel.hostelfinder;
+
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unsaved entities for integration tests. Names, emails and pincodes are made unique per call
+ * where it matters, since tests share one database.
+ */
+public final class TestFixtures {
+
+    private static final AtomicInteger NEXT_PINCODE = new AtomicInteger(100000);
+
+    private TestFixtures() {
+    }
+
+    public static Hostel hostel(String name, String pincode, int totalRooms) {
+        Hostel hostel = new Hostel();
+        hostel.setName(name);
+        hostel.setDescription("Clean rooms close to campus");
+        hostel.setAddress("1 Main Road, Indiranagar, Bengaluru");
+        hostel.setPincode(pincode);
+        hostel.setPricePerNight(new BigDecimal("500.00"));
+        hostel.setTotalRooms(totalRooms);
+        hostel.setAvailableRooms(totalRooms);
+        hostel.setFacilities(new ArrayList<>(List.of("wifi", "laundry")));
+        hostel.setImages(new ArrayList<>(List.of("https://img.example/1.jpg")));
+        return hostel;
+    }
+
+    public static User user() {
+        User user = new User();
+        user.setFullName("Test User");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        return user;
+    }
+
+    public static Booking booking(User user, Hostel hostel, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setHostel(hostel);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setNumberOfRooms(rooms);
+        booking.setTotalPrice(hostel.getPricePerNight().multiply(BigDecimal.valueOf(rooms)));
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    public static String uniquePincode() {
+        return String.valueOf(NEXT_PINCODE.getAndIncrement());
+    }
+}
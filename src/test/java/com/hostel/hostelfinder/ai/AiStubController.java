@@ -0,0 +1,56 @@
+package com.hostel.hostelfinder.ai;
+
+import com.hostel.hostelfinder.geo.PincodeProximityIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for the AI similar-locations endpoint, active only under the {@code ai-stub} profile
+ * and only on the test classpath. Answers from the pincode table, with configurable latency and
+ * failure rate so the client's cache, request coalescing and circuit breaker can be exercised
+ * without the real service.
+ */
+@Profile("ai-stub")
+@RestController
+@RequestMapping("/api/stub/ai")
+@RequiredArgsConstructor
+public class AiStubController {
+
+    private final PincodeProximityIndex pincodeProximityIndex;
+
+    @Value("${ai.stub.latency-millis:200}")
+    private long latencyMillis;
+
+    @Value("${ai.stub.failure-rate:0.0}")
+    private double failureRate;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @PostMapping("/v1/similar-locations")
+    public ResponseEntity<List<String>> similarLocations(@RequestBody Map<String, String> request)
+            throws InterruptedException {
+        calls.incrementAndGet();
+        Thread.sleep(latencyMillis);
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(pincodeProximityIndex.nearest(request.get("pincode"), 10, pincode -> true));
+    }
+
+    public int calls() {
+        return calls.get();
+    }
+
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+}
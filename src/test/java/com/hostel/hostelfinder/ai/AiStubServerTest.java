@@ -0,0 +1,104 @@
+package com.hostel.hostelfinder.ai;
+
+import com.hostel.hostelfinder.analytics.HostelStatsRollup;
+import com.hostel.hostelfinder.exception.AIServiceException;
+import com.hostel.hostelfinder.geo.PincodeProximityIndex;
+import com.hostel.hostelfinder.service.HostelService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The application on a real port with the AI client pointed at {@link AiStubController}, so
+ * suggestions make the full HTTP round trip. The port is fixed before startup because the client
+ * resolves its URL when it is created. The breaker stays open once tripped, so that test runs last.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+@ActiveProfiles({"test", "ai-stub"})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ai-stub;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "ai.stub.latency-millis=0",
+        "ai.suggestions.failure-threshold=2",
+        "ai.suggestions.open-millis=60000"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AiStubServerTest {
+
+    @MockBean
+    private HostelStatsRollup statsRollup;
+
+    @Autowired
+    private AiSuggestionClient aiSuggestionClient;
+    @Autowired
+    private AiStubController stub;
+    @Autowired
+    private PincodeProximityIndex pincodeProximityIndex;
+    @Autowired
+    private HostelService hostelService;
+
+    @DynamicPropertySource
+    static void serverPort(DynamicPropertyRegistry registry) {
+        int port = freePort();
+        registry.add("server.port", () -> port);
+    }
+
+    @AfterEach
+    void healStub() {
+        stub.setFailureRate(0);
+    }
+
+    @Test
+    @Order(1)
+    void suggestionsMakeOneRoundTripPerPincode() {
+        int calls = stub.calls();
+
+        assertThat(aiSuggestionClient.similarLocations("560034"))
+                .isNotEmpty()
+                .isEqualTo(pincodeProximityIndex.nearest("560034", 10, pincode -> true));
+        assertThat(aiSuggestionClient.similarLocations("560 034")).isNotEmpty();
+        assertThat(stub.calls()).isEqualTo(calls + 1);
+    }
+
+    @Test
+    @Order(2)
+    void failingServiceOpensTheBreakerAndSmartSearchFallsBack() {
+        stub.setFailureRate(1);
+        int calls = stub.calls();
+
+        for (String pincode : new String[]{"999001", "999002"}) {
+            assertThatThrownBy(() -> aiSuggestionClient.similarLocations(pincode)).isInstanceOf(AIServiceException.class);
+        }
+        assertThat(stub.calls()).isEqualTo(calls + 2);
+
+        // Open: the stub is no longer called, and smart search answers from the local table
+        assertThatThrownBy(() -> aiSuggestionClient.similarLocations("999003"))
+                .isInstanceOf(AIServiceException.class)
+                .hasMessage("AI suggestion service is unavailable");
+        assertThat(hostelService.smartSearch("999004").getSuggestedLocations()).isEmpty();
+        assertThat(stub.calls()).isEqualTo(calls + 2);
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
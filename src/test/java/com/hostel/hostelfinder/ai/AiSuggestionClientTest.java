@@ -0,0 +1,197 @@
+package com.hostel.hostelfinder.ai;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hostel.hostelfinder.exception.AIServiceException;
+import com.hostel.hostelfinder.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AiSuggestionClientTest {
+
+    private static final String[] NEARBY = {"560002", "560003"};
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void concurrentCallsForOnePincodeShareOneRequest() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.postForObject(anyString(), any(), eq(String[].class))).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return NEARBY;
+        });
+        AiSuggestionClient client = client(10, 5, 30_000);
+
+        List<CompletableFuture<List<String>>> results = new ArrayList<>();
+        List<Thread> followers = new ArrayList<>();
+        results.add(call(client, "560001"));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (String pincode : new String[]{"560001", " 560 001", "560001 "}) {
+            CompletableFuture<List<String>> result = new CompletableFuture<>();
+            Thread follower = new Thread(() -> complete(result, client, pincode));
+            follower.start();
+            followers.add(follower);
+            results.add(result);
+        }
+        // Every follower is parked on the leader's call before it returns
+        for (Thread follower : followers) {
+            awaitState(follower, Thread.State.TIMED_WAITING);
+        }
+        release.countDown();
+
+        for (CompletableFuture<List<String>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly(NEARBY);
+        }
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(String[].class));
+    }
+
+    @Test
+    void answersAreCachedUntilTheTtlExpires() {
+        when(restTemplate.postForObject(anyString(), any(), eq(String[].class)))
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenReturn(NEARBY);
+        AiSuggestionClient client = client(10, 5, 30_000);
+
+        // Failures are not cached
+        assertThatThrownBy(() -> client.similarLocations("560001")).isInstanceOf(AIServiceException.class);
+        assertThat(client.similarLocations("560001")).containsExactly(NEARBY);
+        nanos.addAndGet(Duration.ofMinutes(59).toNanos());
+        assertThat(client.similarLocations("560 001")).containsExactly(NEARBY);
+        verify(restTemplate, times(2)).postForObject(anyString(), any(), eq(String[].class));
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThat(client.similarLocations("560001")).containsExactly(NEARBY);
+        verify(restTemplate, times(3)).postForObject(anyString(), any(), eq(String[].class));
+    }
+
+    @Test
+    void breakerOpensAfterConsecutiveFailuresAndStopsCalling() {
+        when(restTemplate.postForObject(anyString(), any(), eq(String[].class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        AiSuggestionClient client = client(10, 3, 60_000);
+
+        // A rejected request is an answer from a healthy service and does not count
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.similarLocations("560001")).isInstanceOf(AIServiceException.class);
+        }
+        assertThat(circuitOpen()).isEqualTo(1);
+        assertThatThrownBy(() -> client.similarLocations("560001"))
+                .isInstanceOf(AIServiceException.class)
+                .hasMessage("AI suggestion service is unavailable");
+        verify(restTemplate, times(4)).postForObject(anyString(), any(), eq(String[].class));
+    }
+
+    // With no open period every call after opening is a half-open trial
+    @Test
+    void halfOpenTrialClosesTheBreakerAgain() {
+        when(restTemplate.postForObject(anyString(), any(), eq(String[].class)))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(NEARBY)
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        AiSuggestionClient client = client(10, 2, 0);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.similarLocations("560001")).isInstanceOf(AIServiceException.class);
+        }
+        assertThat(circuitOpen()).isEqualTo(1);
+        // A failed trial opens it again at once, a successful one closes it
+        assertThatThrownBy(() -> client.similarLocations("560001")).isInstanceOf(AIServiceException.class);
+        assertThat(circuitOpen()).isEqualTo(1);
+        assertThat(client.similarLocations("560001")).containsExactly(NEARBY);
+        assertThat(circuitOpen()).isZero();
+
+        // Closed again: one failure is below the threshold
+        assertThatThrownBy(() -> client.similarLocations("560002")).isInstanceOf(AIServiceException.class);
+        assertThat(circuitOpen()).isZero();
+    }
+
+    @Test
+    void fullBulkheadFailsFastWithoutTrippingTheBreaker() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.postForObject(anyString(), any(), eq(String[].class))).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return NEARBY;
+        }).thenReturn(NEARBY);
+        AiSuggestionClient client = client(1, 1, 60_000);
+
+        CompletableFuture<List<String>> slow = call(client, "560001");
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> client.similarLocations("560002"))
+                .isInstanceOf(AIServiceException.class)
+                .hasMessage("Too many concurrent AI suggestion calls");
+        assertThat(circuitOpen()).isZero();
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).containsExactly(NEARBY);
+        assertThat(client.similarLocations("560002")).containsExactly(NEARBY);
+        verify(restTemplate, times(2)).postForObject(anyString(), any(), eq(String[].class));
+    }
+
+    private AiSuggestionClient client(int maxConcurrentCalls, int failureThreshold, long openMillis) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(AiSuggestionClient.CACHE_NAME, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(1))
+                .ticker(nanos::get)
+                .build());
+        return new AiSuggestionClient(restTemplate, new ServiceMetrics(meterRegistry), cacheManager, meterRegistry,
+                true, "http://ai.test", "/v1/similar-locations", "key",
+                maxConcurrentCalls, failureThreshold, openMillis, 3000);
+    }
+
+    private double circuitOpen() {
+        return meterRegistry.get(ServiceMetrics.AI + ".circuit.open").gauge().value();
+    }
+
+    private static CompletableFuture<List<String>> call(AiSuggestionClient client, String pincode) {
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        new Thread(() -> complete(result, client, pincode)).start();
+        return result;
+    }
+
+    private static void complete(CompletableFuture<List<String>> result, AiSuggestionClient client, String pincode) {
+        try {
+            result.complete(client.similarLocations(pincode));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != state) {
+            assertThat(System.nanoTime()).as("%s never reached %s", thread, state).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
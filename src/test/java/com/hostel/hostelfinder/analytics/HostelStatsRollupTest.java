@@ -0,0 +1,121 @@
+package com.hostel.hostelfinder.analytics;
+
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.repository.HostelDailyStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The rollup's SQL is MySQL-only (ON DUPLICATE KEY UPDATE), so these tests check the rows it
+ * hands to JDBC rather than the table they would produce.
+ */
+class HostelStatsRollupTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final HostelDailyStatsRepository statsRepository = mock(HostelDailyStatsRepository.class);
+    private final HostelStatsRollup rollup = new HostelStatsRollup(jdbcTemplate, transactionTemplate, statsRepository);
+    private final LocalDate checkIn = LocalDate.of(2030, 3, 1);
+
+    @Test
+    void nightlyPricesPutTheRoundingRemainderOnTheLastNight() {
+        assertThat(HostelStatsRollup.nightlyPrices(new BigDecimal("100.00"), 3))
+                .containsExactly(new BigDecimal("33.33"), new BigDecimal("33.33"), new BigDecimal("33.34"));
+        assertThat(HostelStatsRollup.nightlyPrices(new BigDecimal("200.00"), 3))
+                .containsExactly(new BigDecimal("66.67"), new BigDecimal("66.67"), new BigDecimal("66.66"));
+        assertThat(HostelStatsRollup.nightlyPrices(new BigDecimal("0.01"), 3))
+                .containsExactly(new BigDecimal("0.00"), new BigDecimal("0.00"), new BigDecimal("0.01"));
+        assertThat(HostelStatsRollup.nightlyPrices(new BigDecimal("750.50"), 1))
+                .containsExactly(new BigDecimal("750.50"));
+        assertThat(HostelStatsRollup.nightlyPrices(null, 2))
+                .allSatisfy(price -> assertThat(price).isEqualByComparingTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    void nightlyPricesAlwaysAddUpToTheTotal() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            BigDecimal total = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            int nights = 1 + random.nextInt(30);
+            BigDecimal[] prices = HostelStatsRollup.nightlyPrices(total, nights);
+            assertThat(prices).hasSize(nights);
+            assertThat(Arrays.stream(prices).reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .as("%s over %d nights", total, nights)
+                    .isEqualByComparingTo(total);
+        }
+    }
+
+    @Test
+    void confirmAndCancelUpsertOneRowPerNight() {
+        Booking booking = booking(checkIn, checkIn.plusDays(3), 2, "100.00");
+
+        rollup.recordConfirmed(booking);
+        rollup.recordCancelled(booking);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getAllValues().get(0)).containsExactly(
+                new Object[]{7L, Date.valueOf(checkIn), 2, new BigDecimal("33.33"), 0},
+                new Object[]{7L, Date.valueOf(checkIn.plusDays(1)), 2, new BigDecimal("33.33"), 0},
+                new Object[]{7L, Date.valueOf(checkIn.plusDays(2)), 2, new BigDecimal("33.34"), 0});
+        assertThat(rows.getAllValues().get(1)).containsExactly(
+                new Object[]{7L, Date.valueOf(checkIn), -2, new BigDecimal("-33.33"), 2},
+                new Object[]{7L, Date.valueOf(checkIn.plusDays(1)), -2, new BigDecimal("-33.33"), 2},
+                new Object[]{7L, Date.valueOf(checkIn.plusDays(2)), -2, new BigDecimal("-33.34"), 2});
+    }
+
+    @Test
+    void stayWithoutNightsWritesNothing() {
+        rollup.recordConfirmed(booking(checkIn, checkIn, 1, "0.00"));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void seedsFromBookingsOnlyWhenTheRollupIsEmpty() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(statsRepository.count()).thenReturn(12L);
+
+        rollup.seedIfEmpty();
+        verify(statsRepository, never()).backfillFromBookings();
+
+        when(statsRepository.count()).thenReturn(0L);
+        rollup.seedIfEmpty();
+        verify(statsRepository).backfillFromBookings();
+    }
+
+    private static Booking booking(LocalDate checkIn, LocalDate checkOut, int rooms, String totalPrice) {
+        Hostel hostel = new Hostel();
+        hostel.setId(7L);
+        Booking booking = new Booking();
+        booking.setHostel(hostel);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setNumberOfRooms(rooms);
+        booking.setTotalPrice(new BigDecimal(totalPrice));
+        return booking;
+    }
+}
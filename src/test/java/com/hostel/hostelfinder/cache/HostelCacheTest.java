@@ -0,0 +1,75 @@
+package com.hostel.hostelfinder.cache;
+
+import com.hostel.hostelfinder.datasource.PrimaryReads;
+import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class HostelCacheTest {
+
+    private final HostelCache cache = new HostelCache(new CaffeineCacheManager(HostelCache.NAME),
+            new PrimaryReads(false, mock(PlatformTransactionManager.class)));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesRepeatedReadsFromTheCache() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void doesNotCacheALoadOverlappingAnInvalidation() {
+        // The change commits and is invalidated while the old row is being turned into a DTO
+        HostelDTO stale = cache.get(1L, id -> {
+            HostelDTO loaded = load(id);
+            cache.onHostelChanged(HostelChangedEvent.updated(id));
+            return loaded;
+        });
+
+        HostelDTO next = cache.get(1L, this::load);
+
+        assertThat(stale.getName()).isEqualTo("load 1");
+        assertThat(next.getName()).isEqualTo("load 2");
+    }
+
+    @Test
+    void doesNotCacheABatchLoadOverlappingAnInvalidation() {
+        cache.getAll(List.of(1L, 2L), ids -> {
+            Map<Long, HostelDTO> loaded = Map.of(1L, load(1L), 2L, load(2L));
+            cache.onHostelChanged(HostelChangedEvent.updated(1L));
+            return loaded;
+        });
+
+        cache.getAll(List.of(1L, 2L), ids -> Map.of(1L, load(1L), 2L, load(2L)));
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void cachesBatchLoadsAndReturnsOnlyWhatExists() {
+        Map<Long, HostelDTO> first = cache.getAll(List.of(1L, 2L), ids -> Map.of(1L, load(1L)));
+        Map<Long, HostelDTO> second = cache.getAll(List.of(1L), ids -> Map.of(1L, load(1L)));
+
+        assertThat(first).containsOnlyKeys(1L);
+        assertThat(second.get(1L)).isSameAs(first.get(1L));
+        assertThat(loads).hasValue(1);
+    }
+
+    private HostelDTO load(Long id) {
+        HostelDTO dto = new HostelDTO();
+        dto.setId(id);
+        dto.setName("load " + loads.incrementAndGet());
+        return dto;
+    }
+}
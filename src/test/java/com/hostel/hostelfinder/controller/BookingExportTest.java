@@ -0,0 +1,126 @@
+package com.hostel.hostelfinder.controller;
+
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookingExportTest extends IntegrationTest {
+
+    private static final String HEADER = "id,userId,userName,hostelId,hostelName,checkInDate,checkOutDate,"
+            + "numberOfRooms,totalPrice,status,createdAt";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDate start = LocalDate.of(2030, 1, 10);
+    private Hostel hostel;
+    private Booking confirmed;
+    private Booking cancelled;
+    private Booking pending;
+
+    @BeforeEach
+    void setUp() {
+        hostel = hostelRepository.save(TestFixtures.hostel("=HYPERLINK(\"http://evil.example\"),Hall",
+                TestFixtures.uniquePincode(), 10));
+        User smith = user("Smith, \"Jo\"");
+        User formula = user("@SUM(A1:A9)");
+        confirmed = save(smith, Booking.BookingStatus.CONFIRMED, start, start.plusDays(2));
+        cancelled = save(formula, Booking.BookingStatus.CANCELLED, start.plusDays(2), start.plusDays(4));
+        pending = save(user("-2+3"), Booking.BookingStatus.PENDING, start.plusDays(10), start.plusDays(11));
+    }
+
+    @Test
+    void writesHeaderAndEscapedRows() throws Exception {
+        MvcResult result = mockMvc.perform(export())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"hostel-" + hostel.getId() + "-bookings.csv\""));
+
+        List<String> lines = lines(result);
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo(HEADER);
+        String hostelColumns = hostel.getId() + ",\"'=HYPERLINK(\"\"http://evil.example\"\"),Hall\"";
+        assertThat(lines.get(1)).startsWith(confirmed.getId() + "," + confirmed.getUser().getId()
+                + ",\"Smith, \"\"Jo\"\"\"," + hostelColumns + "," + start + "," + start.plusDays(2) + ",1,500.00,CONFIRMED,");
+        // Formula-like names are neutralized with a leading quote
+        assertThat(lines.get(2)).contains(",'@SUM(A1:A9),");
+        assertThat(lines.get(3)).contains(",'-2+3,");
+    }
+
+    @Test
+    void filtersByStatusAndStayDates() throws Exception {
+        assertThat(ids(export().param("status", "CONFIRMED", "PENDING")))
+                .containsExactly(confirmed.getId(), pending.getId());
+        // Stays overlapping [from, to): the cancelled one checks in on the day the confirmed one leaves
+        assertThat(ids(export().param("from", start.plusDays(2).toString()).param("to", start.plusDays(10).toString())))
+                .containsExactly(cancelled.getId());
+        assertThat(ids(export().param("from", start.plusDays(1).toString())))
+                .containsExactly(confirmed.getId(), cancelled.getId(), pending.getId());
+        assertThat(ids(export().param("to", start.plusDays(2).toString()).param("status", "CANCELLED")))
+                .isEmpty();
+
+        mockMvc.perform(export().param("from", start.toString()).param("to", start.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder export() {
+        return get("/api/bookings/hostel/" + hostel.getId() + "/export");
+    }
+
+    private List<Long> ids(MockHttpServletRequestBuilder export) throws Exception {
+        MvcResult result = mockMvc.perform(export).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        List<String> lines = lines(result);
+        assertThat(lines.get(0)).isEqualTo(HEADER);
+        return lines.subList(1, lines.size()).stream()
+                .map(line -> Long.valueOf(line.substring(0, line.indexOf(','))))
+                .toList();
+    }
+
+    private static List<String> lines(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private User user(String fullName) {
+        User user = TestFixtures.user();
+        user.setFullName(fullName);
+        return userRepository.save(user);
+    }
+
+    private Booking save(User user, Booking.BookingStatus status, LocalDate checkIn, LocalDate checkOut) {
+        Booking booking = TestFixtures.booking(user, hostel, checkIn, checkOut, 1);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,113 @@
+package com.hostel.hostelfinder.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Revalidation of hostel and catalog responses: a matching If-None-Match gets an empty 304, and
+ * a change to the hostel moves its ETag on so the next revalidation gets the new body.
+ */
+@Slf4j
+class ConditionalGetTest extends IntegrationTest {
+
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void hostelAnswersNotModifiedUntilItIsUpdated() throws Exception {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Revalidated", TestFixtures.uniquePincode(), 10));
+        String url = "/api/hostels/" + hostel.getId();
+
+        MvcResult first = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Unchanged hostel: same validator on a fresh load, and a 304 without a body
+        assertThat(etag(url)).isEqualTo(eTag);
+        MvcResult revalidated = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+                .andReturn();
+        assertThat(revalidated.getResponse().getContentAsByteArray()).isEmpty();
+        logBytesSaved(url, first, revalidated);
+
+        HostelDTO changed = objectMapper.readValue(first.getResponse().getContentAsString(), HostelDTO.class);
+        changed.setPricePerNight(new BigDecimal("650.00"));
+        mockMvc.perform(put(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changed)))
+                .andExpect(status().isOk());
+
+        String updated = etag(url);
+        assertThat(updated).isNotEqualTo(eTag);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updated));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, updated))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void catalogAnswersNotModifiedUntilAHostelChanges() throws Exception {
+        String pincode = TestFixtures.uniquePincode();
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Listed", pincode, 10));
+        eventPublisher.publishEvent(HostelChangedEvent.updated(hostel.getId()));
+
+        for (String url : new String[]{"/api/hostels?size=5", "/api/hostels/search?location=" + pincode}) {
+            MvcResult first = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+            String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+            assertThat(eTag).isNotNull();
+
+            MvcResult revalidated = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andReturn();
+            assertThat(revalidated.getResponse().getContentAsByteArray()).isEmpty();
+            logBytesSaved(url, first, revalidated);
+
+            eventPublisher.publishEvent(HostelChangedEvent.updated(hostel.getId()));
+            MvcResult changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        }
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static void logBytesSaved(String url, MvcResult full, MvcResult notModified) {
+        int fullBytes = full.getResponse().getContentAsByteArray().length;
+        int notModifiedBytes = notModified.getResponse().getContentAsByteArray().length;
+        log.info("{}: 304 saved {} of {} body bytes", url, fullBytes - notModifiedBytes, fullBytes);
+    }
+}
@@ -0,0 +1,12 @@
+package com.hostel.hostelfinder.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+class PlatformThreadLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    protected String mode() {
+        return "Platform";
+    }
+}
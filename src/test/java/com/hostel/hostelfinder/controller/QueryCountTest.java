@@ -0,0 +1,147 @@
+package com.hostel.hostelfinder.controller;
+
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.cache.HostelCache;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements issued per request, for a few rows and for many. Equal counts mean the fetch plans
+ * stay batched: an association or collection loaded per row would grow with the row count.
+ */
+class QueryCountTest extends IntegrationTest {
+
+    private static final int FEW = 2;
+    private static final int MANY = 20;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void userBookingsLoadInConstantStatements() throws Exception {
+        User few = userWithBookings(FEW);
+        User many = userWithBookings(MANY);
+
+        long fewStatements = statements("/api/bookings/user/" + few.getId(), FEW);
+        long manyStatements = statements("/api/bookings/user/" + many.getId(), MANY);
+
+        assertThat(manyStatements).isEqualTo(fewStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void hostelBookingsLoadInConstantStatements() throws Exception {
+        Hostel few = hostelWithBookings(FEW);
+        Hostel many = hostelWithBookings(MANY);
+
+        long fewStatements = statements("/api/bookings/hostel/" + few.getId(), FEW);
+        long manyStatements = statements("/api/bookings/hostel/" + many.getId(), MANY);
+
+        assertThat(manyStatements).isEqualTo(fewStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void hostelListingLoadsCollectionsInBatches() throws Exception {
+        for (int i = 0; i < MANY; i++) {
+            hostelRepository.save(TestFixtures.hostel("Listed " + i, TestFixtures.uniquePincode(), 10));
+        }
+
+        long fewStatements = statements("/api/hostels?size=" + FEW, FEW, "$.items.length()");
+        long manyStatements = statements("/api/hostels?size=" + MANY, MANY, "$.items.length()");
+
+        // Key page, entities, then one batch each for facilities and images
+        assertThat(manyStatements).isEqualTo(fewStatements).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void searchLoadsCollectionsInBatches() throws Exception {
+        String fewPincode = TestFixtures.uniquePincode();
+        String manyPincode = TestFixtures.uniquePincode();
+        List<Hostel> hostels = new ArrayList<>();
+        for (int i = 0; i < MANY; i++) {
+            hostels.add(TestFixtures.hostel("Searched " + i, i < FEW ? fewPincode : manyPincode, 10));
+        }
+        hostelRepository.saveAll(hostels);
+        // Saved straight through the repository, so the search index is told explicitly
+        eventPublisher.publishEvent(HostelChangedEvent.updated(hostels.stream().map(Hostel::getId).toList()));
+
+        long fewStatements = statements("/api/hostels/search?location=" + fewPincode, FEW, "$.items.length()");
+        long manyStatements = statements("/api/hostels/search?location=" + manyPincode, MANY - FEW, "$.items.length()");
+
+        assertThat(manyStatements).isEqualTo(fewStatements).isLessThanOrEqualTo(3);
+    }
+
+    private long statements(String url, int expectedRows) throws Exception {
+        return statements(url, expectedRows, "$.length()");
+    }
+
+    // Hostel DTOs are cached, so the cache is emptied first to count the loading path
+    private long statements(String url, int expectedRows, String rowsPath) throws Exception {
+        cacheManager.getCache(HostelCache.NAME).clear();
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(rowsPath).value(expectedRows));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User userWithBookings(int count) {
+        User user = userRepository.save(TestFixtures.user());
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        for (int i = 0; i < count; i++) {
+            // A hostel per booking, so a lazy hostel load would show as one statement per row
+            Hostel hostel = hostelRepository.save(TestFixtures.hostel("Booked " + i, TestFixtures.uniquePincode(), 100));
+            bookingRepository.save(TestFixtures.booking(user, hostel, checkIn, checkIn.plusDays(1), 1));
+        }
+        return user;
+    }
+
+    private Hostel hostelWithBookings(int count) {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Busy", TestFixtures.uniquePincode(), 100));
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        for (int i = 0; i < count; i++) {
+            // A user per booking, so a lazy user load would show as one statement per row
+            User user = userRepository.save(TestFixtures.user());
+            bookingRepository.save(TestFixtures.booking(user, hostel, checkIn, checkIn.plusDays(1), 1));
+        }
+        return hostel;
+    }
+}
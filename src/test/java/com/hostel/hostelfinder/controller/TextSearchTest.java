@@ -0,0 +1,59 @@
+package com.hostel.hostelfinder.controller;
+
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.search.HostelIndexSynchronizer;
+import com.hostel.hostelfinder.search.HostelTextIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyword search before and after its index is built: refused without a validator while the
+ * index is empty, so no cache holds on to an empty result under the catalog version.
+ */
+class TextSearchTest extends IntegrationTest {
+
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private HostelTextIndex hostelTextIndex;
+    @Autowired
+    private HostelIndexSynchronizer indexSynchronizer;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void unavailableUntilTheIndexIsBuilt() throws Exception {
+        String pincode = TestFixtures.uniquePincode();
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Riverside Lodge", pincode, 10));
+        eventPublisher.publishEvent(HostelChangedEvent.updated(hostel.getId()));
+        String url = "/api/hostels/text-search?q=riverside&location=" + pincode;
+
+        hostelTextIndex.clear();
+        try {
+            mockMvc.perform(get(url))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-store")))
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                    .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        } finally {
+            indexSynchronizer.rebuild();
+        }
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].id").value(hostel.getId()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.hostel.hostelfinder.controller;
+
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.analytics.HostelStatsRollup;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.event.HostelChangedEvent;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent HTTP load on hostel search and booking creation through a real Tomcat, logging
+ * throughput and p50/p99 latency. Subclasses run it once per request execution mode so the two
+ * log lines can be compared; the numbers come from the in-memory test database, so they show
+ * the relative cost of the thread model rather than production latency.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class ThreadModeLoadTest {
+
+    private static final int CLIENTS = 64;
+    private static final int SEARCHES = 1_000;
+    private static final int BOOKINGS = 300;
+    private static final int HOSTELS = 20;
+
+    @MockBean
+    private HostelStatsRollup statsRollup;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    protected abstract String mode();
+
+    @Test
+    void searchAndBookUnderLoad() throws Exception {
+        String pincode = TestFixtures.uniquePincode();
+        List<Hostel> hostels = new ArrayList<>();
+        for (int i = 0; i < HOSTELS; i++) {
+            hostels.add(TestFixtures.hostel("Loaded " + i, pincode, 1_000));
+        }
+        hostelRepository.saveAll(hostels);
+        eventPublisher.publishEvent(HostelChangedEvent.updated(hostels.stream().map(Hostel::getId).toList()));
+        User user = userRepository.save(TestFixtures.user());
+        LocalDate firstNight = LocalDate.now().plusDays(1);
+
+        IntFunction<HttpRequest> search = i -> HttpRequest.newBuilder(uri("/api/hostels/search?location=" + pincode)).GET().build();
+        IntFunction<HttpRequest> booking = i -> HttpRequest.newBuilder(uri("/api/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                        "{\"userId\":%d,\"hostelId\":%d,\"checkInDate\":\"%s\",\"checkOutDate\":\"%s\",\"numberOfRooms\":1}",
+                        user.getId(), hostels.get(i % HOSTELS).getId(),
+                        firstNight.plusDays(i % 30), firstNight.plusDays(i % 30 + 1))))
+                .build();
+
+        run("warm-up", search, CLIENTS * 4);
+        run("GET /api/hostels/search", search, SEARCHES);
+        run("POST /api/bookings", booking, BOOKINGS);
+    }
+
+    private void run(String name, IntFunction<HttpRequest> requests, int count) throws Exception {
+        long[] latencies = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> clients = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.add(pool.submit(() -> {
+                for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                    long sent = System.nanoTime();
+                    HttpResponse<String> response = client.send(requests.apply(i), HttpResponse.BodyHandlers.ofString());
+                    latencies[i] = System.nanoTime() - sent;
+                    assertThat(response.statusCode()).as("%s: %s", name, response.body()).isEqualTo(200);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : clients) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        pool.shutdown();
+        Arrays.sort(latencies);
+        log.info("{} threads, {}: {} requests in {} ms, {} req/s, p50 {} ms, p99 {} ms",
+                mode(), name, count, Math.round(seconds * 1000), Math.round(count / seconds),
+                millis(latencies[count / 2]), millis(latencies[(int) Math.ceil(count * 0.99) - 1]));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + contextPath + path);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,16 @@
+package com.hostel.hostelfinder.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+// Spring only switches to virtual threads on a Java 21+ runtime
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    protected String mode() {
+        return "Virtual";
+    }
+}
@@ -0,0 +1,139 @@
+package com.hostel.hostelfinder.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.dto.HostelDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory databases standing in for the primary and a replica that lags behind it: rows
+ * reach the replica only when a test copies them over, so anything read from it is visibly stale.
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.username=sa",
+        "datasource.replica.password="
+})
+class ReplicaRoutingTest extends IntegrationTest {
+
+    private static final List<String> HOSTEL_TABLES = List.of("hostels", "hostel_facilities", "hostel_images");
+
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Test
+    void readOnlyTransactionsReadTheReplicaUnlessPinned() {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Not Yet Replicated", TestFixtures.uniquePincode(), 10));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Boolean onReplica = readOnly.execute(status -> hostelRepository.existsById(hostel.getId()));
+        Boolean pinned = ReadWriteRoutingDataSource.onPrimary(() ->
+                readOnly.execute(status -> hostelRepository.existsById(hostel.getId())));
+        Boolean readWrite = new TransactionTemplate(transactionManager).execute(status ->
+                hostelRepository.existsById(hostel.getId()));
+
+        assertThat(onReplica).isFalse();
+        assertThat(pinned).isTrue();
+        assertThat(readWrite).isTrue();
+    }
+
+    @Test
+    void cachedHostelsAreLoadedFromThePrimary() throws Exception {
+        String pincode = TestFixtures.uniquePincode();
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Harbour View", pincode, 10));
+        replicate();
+        String url = "/api/hostels/" + hostel.getId();
+
+        HostelDTO renamed = objectMapper.readValue(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), HostelDTO.class);
+        renamed.setName("Harbour View Annexe");
+        mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(renamed)))
+                .andExpect(status().isOk());
+
+        // The rename has not reached the replica, yet every cache load after it sees the new name
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        String replicated = readOnly.execute(status -> hostelRepository.findById(hostel.getId()).orElseThrow().getName());
+        assertThat(replicated).isEqualTo("Harbour View");
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Harbour View Annexe"));
+        mockMvc.perform(get("/api/hostels?size=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.id == " + hostel.getId() + ")].name").value("Harbour View Annexe"));
+        mockMvc.perform(get("/api/hostels/search?location=" + pincode))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Harbour View Annexe"));
+    }
+
+    // Brings the replica's hostel tables up to the primary as of now
+    private void replicate() {
+        JdbcTemplate from = new JdbcTemplate(primary);
+        JdbcTemplate to = new JdbcTemplate(replica);
+        for (int i = HOSTEL_TABLES.size() - 1; i >= 0; i--) {
+            to.update("DELETE FROM " + HOSTEL_TABLES.get(i));
+        }
+        for (String table : HOSTEL_TABLES) {
+            for (Map<String, Object> row : from.queryForList("SELECT * FROM " + table)) {
+                String columns = String.join(", ", row.keySet());
+                String values = row.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+                to.update("INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")", row.values().toArray());
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        // The schema is generated on the primary only; the replica gets a copy before the
+        // application starts reading from it
+        @Bean
+        InitializingBean replicaSchema(EntityManagerFactory entityManagerFactory,
+                                       @Qualifier("primaryDataSource") DataSource primary,
+                                       @Qualifier("replicaDataSource") DataSource replica) {
+            return () -> {
+                JdbcTemplate to = new JdbcTemplate(replica);
+                new JdbcTemplate(primary).queryForList("SCRIPT NODATA", String.class).forEach(to::execute);
+            };
+        }
+    }
+}
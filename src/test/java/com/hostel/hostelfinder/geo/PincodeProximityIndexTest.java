@@ -0,0 +1,105 @@
+package com.hostel.hostelfinder.geo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PincodeProximityIndexTest {
+
+    @Test
+    void ordersNeighboursByDistanceWithinTheRadius() {
+        // Roughly 11 km per 0.1 degree of latitude along one meridian
+        PincodeProximityIndex index = index(0.25, 100, Map.of(
+                "100000", new double[]{20.0, 78.0},
+                "100001", new double[]{20.3, 78.0},
+                "100002", new double[]{19.9, 78.0},
+                "100003", new double[]{20.0, 78.5},
+                "100004", new double[]{20.7, 78.0},
+                "100005", new double[]{22.0, 78.0}));
+
+        assertThat(index.nearest("100000", 10, pincode -> true))
+                .containsExactly("100002", "100001", "100003", "100004");
+        assertThat(index.nearest("100000", 2, pincode -> true)).containsExactly("100002", "100001");
+        assertThat(index.nearest("100000", 2, pincode -> !pincode.equals("100002")))
+                .containsExactly("100001", "100003");
+        assertThat(index.nearest("100005", 3, pincode -> true)).isEmpty();
+        assertThat(index.nearest("999999", 3, pincode -> true)).isEmpty();
+        assertThat(index.nearest(null, 3, pincode -> true)).isEmpty();
+        assertThat(index.nearest("100000", 0, pincode -> true)).isEmpty();
+    }
+
+    @Test
+    void randomTablesMatchAFullScan() {
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            Map<String, double[]> points = new LinkedHashMap<>();
+            for (int i = 0; i < 300; i++) {
+                points.put(String.valueOf(100000 + i), new double[]{
+                        10 + random.nextDouble() * 4, 76 + random.nextDouble() * 4});
+            }
+            double cellDegrees = 0.05 + random.nextDouble() * 0.5;
+            double maxRadiusKm = 20 + random.nextDouble() * 200;
+            PincodeProximityIndex index = index(cellDegrees, maxRadiusKm, points);
+
+            for (int query = 0; query < 30; query++) {
+                String origin = String.valueOf(100000 + random.nextInt(points.size()));
+                int k = 1 + random.nextInt(12);
+                int modulus = 1 + random.nextInt(3);
+                assertThat(index.nearest(origin, k, pincode -> Integer.parseInt(pincode) % modulus == 0))
+                        .as("seed %d, origin %s, k %d", seed, origin, k)
+                        .containsExactlyElementsOf(expected(points, origin, k, maxRadiusKm, modulus));
+            }
+        }
+    }
+
+    @Test
+    void shippedTableSuggestsPincodesInTheSameCity() {
+        PincodeProximityIndex index = new PincodeProximityIndex(new ClassPathResource("geo/pincodes.csv"), 0.25, 100);
+        index.load();
+
+        assertThat(index.contains("560034")).isTrue();
+        List<String> nearby = index.nearest("560034", 5, pincode -> true);
+        assertThat(nearby).hasSize(5).allMatch(pincode -> pincode.startsWith("560"));
+        assertThat(nearby.get(0)).isEqualTo("560095");
+    }
+
+    private static List<String> expected(Map<String, double[]> points, String origin, int k, double maxRadiusKm, int modulus) {
+        double[] from = points.get(origin);
+        return points.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(origin))
+                .filter(entry -> Integer.parseInt(entry.getKey()) % modulus == 0)
+                .filter(entry -> distanceKm(from, entry.getValue()) <= maxRadiusKm)
+                .sorted(Comparator.comparingDouble(entry -> distanceKm(from, entry.getValue())))
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static double distanceKm(double[] a, double[] b) {
+        double dLat = Math.toRadians(b[0] - a[0]);
+        double dLon = Math.toRadians(b[1] - a[1]);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(a[0])) * Math.cos(Math.toRadians(b[0]))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * 6371.0 * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static PincodeProximityIndex index(double cellDegrees, double maxRadiusKm, Map<String, double[]> points) {
+        StringBuilder csv = new StringBuilder("pincode,latitude,longitude\n");
+        points.forEach((pincode, point) -> csv.append(pincode).append(',')
+                .append(point[0]).append(',').append(point[1]).append('\n'));
+        PincodeProximityIndex index = new PincodeProximityIndex(
+                new ByteArrayResource(csv.toString().getBytes(StandardCharsets.UTF_8)), cellDegrees, maxRadiusKm);
+        index.load();
+        return index;
+    }
+}
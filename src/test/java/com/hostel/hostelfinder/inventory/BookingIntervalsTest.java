@@ -0,0 +1,139 @@
+package com.hostel.hostelfinder.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Random stays checked against a night-by-night count. Seeded, so a failure names the seed and
+ * repeats.
+ */
+class BookingIntervalsTest {
+
+    private static final long BASE_DAY = 20_000;
+
+    @Test
+    void randomEditsMatchBruteForce() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            int span = 1 + random.nextInt(random.nextBoolean() ? 20 : 400);
+            int maxRooms = random.nextBoolean() ? 5 : 1 << 24;
+            List<Stay> stays = new ArrayList<>();
+            for (int i = random.nextInt(30); i > 0; i--) {
+                stays.add(Stay.random(random, span, maxRooms));
+            }
+            BookingIntervals intervals = BookingIntervals.of(
+                    stays.stream().mapToLong(Stay::start).toArray(),
+                    stays.stream().mapToLong(Stay::end).toArray(),
+                    stays.stream().mapToInt(Stay::rooms).toArray());
+
+            for (int step = 0; step < 60; step++) {
+                int action = random.nextInt(3);
+                if (action == 0) {
+                    Stay stay = Stay.random(random, span, maxRooms);
+                    stays.add(stay);
+                    intervals = intervals.with(stay.start(), stay.end(), stay.rooms());
+                } else if (action == 1 && !stays.isEmpty()) {
+                    Stay stay = stays.remove(random.nextInt(stays.size()));
+                    intervals = intervals.without(stay.start(), stay.end(), stay.rooms());
+                } else {
+                    // Same nights, rooms nobody booked: nothing to drop
+                    Stay stay = Stay.random(random, span, maxRooms);
+                    BookingIntervals unchanged = intervals.without(stay.start(), stay.end(), -1);
+                    assertThat(unchanged).as("seed %d", seed).isSameAs(intervals);
+                }
+                assertThat(intervals.size()).as("seed %d", seed).isEqualTo(stays.size());
+                long from = BASE_DAY - 5 + random.nextInt(span + 10);
+                long to = from + random.nextInt(span + 5);
+                check(seed, stays, intervals, from, to, random);
+            }
+        }
+    }
+
+    // Night offsets in the high word and room counts filling the low 31 bits must not spill into
+    // the start flag or each other
+    @Test
+    void peakKeepsNightOffsetsAndRoomCountsApartInItsPackedBoundaries() {
+        long from = 0;
+        long far = (1L << 20) + 7;
+        int rooms = Integer.MAX_VALUE;
+        BookingIntervals intervals = BookingIntervals.of(
+                new long[]{far, far + 1, far + 3},
+                new long[]{far + 1, far + 3, far + 4},
+                new int[]{rooms, rooms, rooms});
+        assertThat(intervals.peak(from, far + 10)).isEqualTo(rooms);
+
+        BookingIntervals stacked = BookingIntervals.of(
+                new long[]{far, far, 5},
+                new long[]{far + 2, far + 1, 6},
+                new int[]{1 << 30, (1 << 30) - 1, rooms});
+        assertThat(stacked.peak(from, far + 10)).isEqualTo(rooms);
+        assertThat(stacked.peak(far + 1, far + 10)).isEqualTo(1 << 30);
+    }
+
+    @Test
+    void addNightlyHandlesAWideWindow() {
+        Random random = new Random(42);
+        List<Stay> stays = new ArrayList<>();
+        int span = 200_000;
+        for (int i = 0; i < 500; i++) {
+            stays.add(Stay.random(random, span, 1 << 20));
+        }
+        BookingIntervals intervals = BookingIntervals.of(
+                stays.stream().mapToLong(Stay::start).toArray(),
+                stays.stream().mapToLong(Stay::end).toArray(),
+                stays.stream().mapToInt(Stay::rooms).toArray());
+        check(42, stays, intervals, BASE_DAY, BASE_DAY + span, random);
+    }
+
+    private static void check(long seed, List<Stay> stays, BookingIntervals intervals, long from, long to, Random random) {
+        int[] expected = bruteForce(stays, from, to);
+        int expectedPeak = Arrays.stream(expected).max().orElse(0);
+        long expectedSum = stays.stream()
+                .filter(stay -> stay.start() < to && stay.end() > from)
+                .mapToLong(Stay::rooms)
+                .sum();
+        assertThat(intervals.peak(from, to)).as("seed %d, peak [%d, %d)", seed, from, to).isEqualTo(expectedPeak);
+        assertThat(intervals.sumOverlapping(from, to)).as("seed %d, sum [%d, %d)", seed, from, to).isEqualTo(expectedSum);
+
+        // Lands at the offset on top of what is already there, and nowhere else
+        int offset = random.nextInt(4);
+        int[] nights = new int[offset + expected.length + 2];
+        int[] before = new int[nights.length];
+        for (int i = 0; i < nights.length; i++) {
+            nights[i] = random.nextInt(100);
+            before[i] = nights[i];
+        }
+        intervals.addNightly(from, to, nights, offset);
+        for (int i = 0; i < nights.length; i++) {
+            int night = i - offset;
+            int added = night >= 0 && night < expected.length ? expected[night] : 0;
+            assertThat(nights[i]).as("seed %d, night %d of [%d, %d)", seed, night, from, to).isEqualTo(before[i] + added);
+        }
+    }
+
+    private static int[] bruteForce(List<Stay> stays, long from, long to) {
+        int[] nights = new int[(int) (to - from)];
+        for (Stay stay : stays) {
+            for (long night = Math.max(stay.start(), from); night < Math.min(stay.end(), to); night++) {
+                nights[(int) (night - from)] += stay.rooms();
+            }
+        }
+        return nights;
+    }
+
+    private record Stay(long start, long end, int rooms) {
+
+        // Short stays packed into the span, so check-outs and check-ins often share a night
+        static Stay random(Random random, int span, int maxRooms) {
+            long start = BASE_DAY + random.nextInt(span);
+            long end = start + 1 + random.nextInt(Math.min(span, 14));
+            return new Stay(start, end, 1 + random.nextInt(maxRooms));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.hostel.hostelfinder.inventory;
+
+import com.hostel.hostelfinder.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomInventoryTest {
+
+    private static final Long HOSTEL = 1L;
+
+    private final AvailabilityLedger ledger = mock(AvailabilityLedger.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final RoomInventory inventory = new RoomInventory(ledger, bookingRepository, 30);
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void rebuildKeepsServingTheOldStateAndCarriesOverReservationsMadeMeanwhile() throws Exception {
+        when(ledger.replay(any(), anyInt())).thenReturn(Map.of(HOSTEL, nights(2)));
+        when(bookingRepository.findStaysEndingAfter(any(), any())).thenReturn(List.of());
+        inventory.rebuild();
+        assertThat(inventory.peakBooked(HOSTEL, today, today.plusDays(1))).isEqualTo(2);
+
+        CountDownLatch replaying = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        when(ledger.replay(any(), anyInt())).thenAnswer(invocation -> {
+            replaying.countDown();
+            resume.await(5, TimeUnit.SECONDS);
+            return Map.of(HOSTEL, nights(2));
+        });
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(inventory::rebuild);
+        assertThat(replaying.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The live map still answers, and a reservation made now is checked against it
+        assertThat(inventory.peakBooked(HOSTEL, today, today.plusDays(1))).isEqualTo(2);
+        assertThat(inventory.tryReserve(HOSTEL, 3, today, today.plusDays(1), 1)).isTrue();
+        assertThat(inventory.tryReserve(HOSTEL, 3, today, today.plusDays(1), 1)).isFalse();
+
+        resume.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+        assertThat(inventory.isReady()).isTrue();
+        assertThat(inventory.peakBooked(HOSTEL, today, today.plusDays(1))).isEqualTo(3);
+    }
+
+    @Test
+    void hostelEvictedDuringRebuildStaysEvicted() throws Exception {
+        CountDownLatch replaying = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        when(ledger.replay(any(), anyInt())).thenAnswer(invocation -> {
+            replaying.countDown();
+            resume.await(5, TimeUnit.SECONDS);
+            return Map.of(HOSTEL, nights(2));
+        });
+        when(bookingRepository.findStaysEndingAfter(any(), any())).thenReturn(List.of());
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(inventory::rebuild);
+        assertThat(replaying.await(5, TimeUnit.SECONDS)).isTrue();
+
+        inventory.evict(HOSTEL);
+        resume.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(inventory.peakBooked(HOSTEL, today, today.plusDays(1))).isZero();
+    }
+
+    @Test
+    void evictAfterCommitOutsideTransactionEvictsImmediately() {
+        inventory.reserve(HOSTEL, today, today.plusDays(2), 4);
+        inventory.evictAfterCommit(HOSTEL);
+
+        assertThat(inventory.peakBooked(HOSTEL, today, today.plusDays(2))).isZero();
+    }
+
+    @Test
+    void refusesReservationsWithoutRoomsOrNights() {
+        inventory.reserve(HOSTEL, today, today.plusDays(2), 2);
+
+        assertThatThrownBy(() -> inventory.tryReserve(HOSTEL, 2, today, today.plusDays(2), -2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> inventory.reserve(HOSTEL, today, today.plusDays(2), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> inventory.tryReserve(HOSTEL, 2, today, today, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(inventory.peakBooked(HOSTEL, today, today.plusDays(2))).isEqualTo(2);
+    }
+
+    private static int[] nights(int rooms) {
+        int[] nights = new int[30];
+        Arrays.fill(nights, rooms);
+        return nights;
+    }
+}
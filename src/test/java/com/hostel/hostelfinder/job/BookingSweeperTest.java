@@ -0,0 +1,115 @@
+package com.hostel.hostelfinder.job;
+
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.entity.Booking;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.inventory.AvailabilityLedger;
+import com.hostel.hostelfinder.inventory.RoomInventory;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingSweeperTest extends IntegrationTest {
+
+    @Autowired
+    private BookingSweeper bookingSweeper;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoomInventory roomInventory;
+    @Autowired
+    private AvailabilityLedger availabilityLedger;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+    private Hostel hostel;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        hostel = hostelRepository.save(TestFixtures.hostel("Swept", TestFixtures.uniquePincode(), 10));
+        user = userRepository.save(TestFixtures.user());
+    }
+
+    @Test
+    void completesCheckedOutBookingsButKeepsPendingOnesByDefault() {
+        Booking checkedOut = save(Booking.BookingStatus.CONFIRMED, today.minusDays(3), today.minusDays(1));
+        Booking pending = save(Booking.BookingStatus.PENDING, today.plusDays(3), today.plusDays(4));
+        heldSince(pending, LocalDateTime.now().minusDays(30));
+
+        bookingSweeper.sweep();
+
+        assertThat(status(checkedOut)).isEqualTo(Booking.BookingStatus.COMPLETED);
+        assertThat(status(pending)).isEqualTo(Booking.BookingStatus.PENDING);
+    }
+
+    @Test
+    void cancelsPendingBookingsOnceTheStayIsOverEvenWithoutAHold() {
+        Booking lapsed = save(Booking.BookingStatus.PENDING, today.minusDays(3), today.minusDays(1));
+        Booking leavingToday = save(Booking.BookingStatus.PENDING, today.minusDays(1), today);
+        Booking staying = save(Booking.BookingStatus.PENDING, today.minusDays(1), today.plusDays(1));
+
+        bookingSweeper.sweep();
+
+        assertThat(status(lapsed)).isEqualTo(Booking.BookingStatus.CANCELLED);
+        assertThat(status(leavingToday)).isEqualTo(Booking.BookingStatus.CANCELLED);
+        assertThat(status(staying)).isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(meterRegistry.counter("hostelfinder.bookings.swept", "transition", "lapsed").count())
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void expiresPendingBookingsPastAConfiguredHold() {
+        BookingSweeper withHold = new BookingSweeper(bookingRepository, hostelRepository, roomInventory,
+                availabilityLedger, eventPublisher, transactionManager, meterRegistry,
+                200, 50, Duration.ofSeconds(5), Duration.ofHours(48));
+        Booking stale = save(Booking.BookingStatus.PENDING, today.plusDays(3), today.plusDays(4));
+        heldSince(stale, LocalDateTime.now().minusHours(49));
+        Booking fresh = save(Booking.BookingStatus.PENDING, today.plusDays(3), today.plusDays(4));
+
+        withHold.sweep();
+
+        assertThat(status(stale)).isEqualTo(Booking.BookingStatus.CANCELLED);
+        assertThat(status(fresh)).isEqualTo(Booking.BookingStatus.PENDING);
+    }
+
+    private Booking save(Booking.BookingStatus status, LocalDate checkIn, LocalDate checkOut) {
+        Booking booking = TestFixtures.booking(user, hostel, checkIn, checkOut, 1);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+
+    private void heldSince(Booking booking, LocalDateTime createdAt) {
+        jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?", createdAt, booking.getId());
+    }
+
+    private Booking.BookingStatus status(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+}
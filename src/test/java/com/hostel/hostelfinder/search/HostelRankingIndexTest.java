@@ -0,0 +1,111 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostelRankingIndexTest {
+
+    private static final String[] PINCODES = {"560001", "560002", "560003"};
+
+    private final HostelScorer scorer = new HostelScorer(0.3, 0.4, 0.2, 0.1, 1000, 500);
+    private final HostelRankingIndex index = new HostelRankingIndex(scorer);
+
+    @Test
+    void rescoringMovesAHostelWithinAndBetweenPincodes() {
+        index.upsert(hostel(1L, "560001", 4.0, 10));
+        index.upsert(hostel(2L, "560001", 3.0, 10));
+        index.upsert(hostel(3L, "560001", 2.0, 0));
+        index.rebuilt();
+        assertThat(index.top("560001", false, 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.top("560001", true, 10)).containsExactly(1L, 2L);
+        assertThat(index.top("560001", false, 2)).containsExactly(1L, 2L);
+
+        // A better rating and a freed room move hostel 3 to the front, leaving no stale copy behind
+        index.upsert(hostel(3L, "560001", 5.0, 10));
+        assertThat(index.top("560001", false, 10)).containsExactly(3L, 1L, 2L);
+        assertThat(index.top("560001", true, 10)).containsExactly(3L, 1L, 2L);
+
+        // Same score: lower id first
+        index.upsert(hostel(2L, "560001", 4.0, 10));
+        assertThat(index.top("560001", false, 10)).containsExactly(3L, 1L, 2L);
+
+        index.upsert(hostel(1L, "560002", 4.0, 10));
+        assertThat(index.top("560001", false, 10)).containsExactly(3L, 2L);
+        assertThat(index.top("560002", false, 10)).containsExactly(1L);
+
+        // No pincode any more, then deleted outright
+        index.upsert(hostel(1L, null, 4.0, 10));
+        assertThat(index.top("560002", false, 10)).isEmpty();
+        index.remove(3L);
+        index.remove(3L);
+        assertThat(index.top("560001", false, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void randomUpdatesMatchAFullSort() {
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            HostelRankingIndex index = new HostelRankingIndex(scorer);
+            Map<Long, Hostel> live = new HashMap<>();
+            for (int step = 0; step < 2000; step++) {
+                long id = 1 + random.nextInt(60);
+                if (random.nextInt(5) == 0) {
+                    live.remove(id);
+                    index.remove(id);
+                } else {
+                    Hostel hostel = randomHostel(random, id);
+                    live.put(id, hostel);
+                    index.upsert(hostel);
+                }
+                if (step % 20 == 0) {
+                    for (String pincode : PINCODES) {
+                        boolean availableOnly = random.nextBoolean();
+                        int k = 1 + random.nextInt(25);
+                        assertThat(index.top(pincode, availableOnly, k))
+                                .as("seed %d, step %d, %s", seed, step, pincode)
+                                .containsExactlyElementsOf(expected(live, pincode, availableOnly, k));
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Long> expected(Map<Long, Hostel> live, String pincode, boolean availableOnly, int k) {
+        return live.values().stream()
+                .filter(hostel -> pincode.equals(hostel.getPincode()))
+                .filter(hostel -> !availableOnly || hostel.getAvailableRooms() > 0)
+                .sorted(Comparator.comparingDouble(scorer::score).reversed().thenComparing(Hostel::getId))
+                .limit(k)
+                .map(Hostel::getId)
+                .toList();
+    }
+
+    // Coarse values, so equal scores and their id tie-break come up often
+    private static Hostel randomHostel(Random random, long id) {
+        int choice = random.nextInt(PINCODES.length + 1);
+        String pincode = choice == PINCODES.length ? null : PINCODES[choice];
+        return hostel(id, pincode, random.nextInt(6), random.nextInt(3) * 5);
+    }
+
+    private static Hostel hostel(Long id, String pincode, double rating, int availableRooms) {
+        Hostel hostel = new Hostel();
+        hostel.setId(id);
+        hostel.setPincode(pincode);
+        hostel.setPricePerNight(new BigDecimal("500.00"));
+        hostel.setRating(rating);
+        hostel.setTotalReviews(0);
+        hostel.setTotalRooms(10);
+        hostel.setAvailableRooms(availableRooms);
+        return hostel;
+    }
+}
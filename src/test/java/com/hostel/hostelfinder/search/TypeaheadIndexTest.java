@@ -0,0 +1,162 @@
+package com.hostel.hostelfinder.search;
+
+import com.hostel.hostelfinder.entity.Hostel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeaheadIndexTest {
+
+    private static final String[] WORDS = {"blue", "bluebell", "green", "greenwood", "sun", "sunrise", "sun rise"};
+    private static final String[] LOCALITIES = {"Indiranagar", "Indira Nagar", "Koramangala", "Sector 5", "Sector 52"};
+    private static final String[] PREFIXES = {"b", "blue", "blueb", "g", "green ", "s", "sun", "sun r", "i", "indira",
+            "k", "sector 5", "5", "56", "5600", "560011", "x"};
+
+    private final TypeaheadIndex index = new TypeaheadIndex();
+
+    @Test
+    void ranksByHostelCountThenReviewsThenText() {
+        index.upsert(hostel(1L, "560001", "Sunrise Stay", "1 Main Road, Indiranagar, Bengaluru", 10));
+        index.upsert(hostel(2L, "560001", "Sunset Inn", "2 Main Road, Koramangala, Bengaluru", 0));
+        index.upsert(hostel(3L, "560002", "Sunbeam", "3 Main Road, Indiranagar, Bengaluru", 500));
+        index.upsert(hostel(4L, "560003", "Sunbird", "4 Main Road, Indiranagar, Bengaluru", 500));
+        index.rebuilt();
+
+        // Two hostels beat one however reviewed; equal counts go by reviews, then by text
+        assertThat(texts(index.suggest("560", 10))).containsExactly("560001", "560002", "560003");
+        assertThat(texts(index.suggest("sun", 10))).containsExactly("Sunbeam", "Sunbird", "Sunrise Stay", "Sunset Inn");
+        assertThat(index.suggest("sun", 2)).extracting(TypeaheadIndex.Match::getText).containsExactly("Sunbeam", "Sunbird");
+        assertThat(index.suggest("560001", 1).get(0).getHostelCount()).isEqualTo(2);
+
+        // Moving a hostel takes its count and reviews along
+        index.upsert(hostel(3L, "560001", "Sunbeam", "3 Main Road, Indiranagar, Bengaluru", 500));
+        assertThat(texts(index.suggest("560", 10))).containsExactly("560001", "560003");
+        index.remove(1L);
+        index.remove(2L);
+        assertThat(texts(index.suggest("560", 10))).containsExactly("560001", "560003");
+        assertThat(texts(index.suggest("sunr", 10))).isEmpty();
+    }
+
+    @Test
+    void newTextIsSuggestedBeforeItIsMerged() {
+        index.upsert(hostel(1L, "560001", "Bluebell", "1 Main Road, Indiranagar, Bengaluru", 3));
+        index.rebuilt();
+        index.upsert(hostel(2L, "560001", "Blue Door", "2 Main Road, Indiranagar, Bengaluru", 7));
+
+        assertThat(texts(index.suggest("blue", 10))).containsExactly("Blue Door", "Bluebell");
+        assertThat(texts(index.suggest("Blue  DOOR!", 10))).containsExactly("Blue Door");
+    }
+
+    // Enough new names to force merges of the pending list along the way
+    @Test
+    void randomUpdatesMatchAFullRescan() {
+        for (long seed = 0; seed < 5; seed++) {
+            Random random = new Random(seed);
+            TypeaheadIndex index = new TypeaheadIndex();
+            Map<Long, Hostel> live = new HashMap<>();
+            for (long id = 1; id <= 50; id++) {
+                live.put(id, randomHostel(random, id));
+                index.upsert(live.get(id));
+            }
+            index.rebuilt();
+
+            long nextId = 51;
+            for (int step = 0; step < 4000; step++) {
+                int action = random.nextInt(10);
+                if (action < 5) {
+                    Hostel hostel = randomHostel(random, nextId++);
+                    live.put(hostel.getId(), hostel);
+                    index.upsert(hostel);
+                } else if (action < 8 && !live.isEmpty()) {
+                    Long id = pick(random, live);
+                    Hostel hostel = random.nextBoolean() ? randomHostel(random, id) : copy(live.get(id));
+                    live.put(id, hostel);
+                    index.upsert(hostel);
+                } else if (!live.isEmpty()) {
+                    Long id = pick(random, live);
+                    live.remove(id);
+                    index.remove(id);
+                }
+                if (step % 50 == 0) {
+                    for (String prefix : PREFIXES) {
+                        int limit = 1 + random.nextInt(12);
+                        assertThat(keys(index.suggest(prefix, limit)))
+                                .as("seed %d, step %d, prefix '%s'", seed, step, prefix)
+                                .containsExactlyElementsOf(expected(live, prefix, limit));
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> expected(Map<Long, Hostel> live, String prefix, int limit) {
+        Map<String, long[]> counts = new HashMap<>();
+        for (Hostel hostel : live.values()) {
+            List<String> keys = new ArrayList<>();
+            keys.add(TypeaheadIndex.Kind.PINCODE.ordinal() + ":" + TypeaheadIndex.normalize(hostel.getPincode()));
+            keys.add(TypeaheadIndex.Kind.HOSTEL.ordinal() + ":" + TypeaheadIndex.normalize(hostel.getName()));
+            for (String locality : TypeaheadIndex.localities(hostel.getAddress())) {
+                keys.add(TypeaheadIndex.Kind.LOCALITY.ordinal() + ":" + TypeaheadIndex.normalize(locality));
+            }
+            for (String key : keys) {
+                long[] count = counts.computeIfAbsent(key, k -> new long[2]);
+                count[0]++;
+                count[1] += hostel.getTotalReviews();
+            }
+        }
+        String normalized = TypeaheadIndex.normalize(prefix);
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getKey().substring(2).startsWith(normalized))
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[0]).reversed()
+                        .thenComparing(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed())
+                        .thenComparing(entry -> entry.getKey().substring(2))
+                        .thenComparing(Map.Entry::getKey))
+                .limit(limit)
+                .map(entry -> entry.getKey() + ":" + entry.getValue()[0])
+                .toList();
+    }
+
+    private static List<String> keys(List<TypeaheadIndex.Match> matches) {
+        return matches.stream()
+                .map(match -> match.getKind().ordinal() + ":" + TypeaheadIndex.normalize(match.getText()) + ":" + match.getHostelCount())
+                .toList();
+    }
+
+    private static List<String> texts(List<TypeaheadIndex.Match> matches) {
+        return matches.stream().map(TypeaheadIndex.Match::getText).toList();
+    }
+
+    private static Hostel randomHostel(Random random, long id) {
+        String name = WORDS[random.nextInt(WORDS.length)] + (random.nextInt(4) == 0 ? "" : " " + random.nextInt(800));
+        String pincode = "5600" + (10 + random.nextInt(6));
+        String locality = LOCALITIES[random.nextInt(LOCALITIES.length)];
+        String address = id + " Main Road, " + locality + (random.nextBoolean() ? ", Bengaluru" : ", 560001");
+        return hostel(id, pincode, name, address, random.nextInt(50));
+    }
+
+    private static Long pick(Random random, Map<Long, Hostel> live) {
+        List<Long> ids = new ArrayList<>(live.keySet());
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static Hostel copy(Hostel hostel) {
+        return hostel(hostel.getId(), hostel.getPincode(), hostel.getName(), hostel.getAddress(), hostel.getTotalReviews());
+    }
+
+    private static Hostel hostel(Long id, String pincode, String name, String address, int reviews) {
+        Hostel hostel = new Hostel();
+        hostel.setId(id);
+        hostel.setPincode(pincode);
+        hostel.setName(name);
+        hostel.setAddress(address);
+        hostel.setTotalReviews(reviews);
+        return hostel;
+    }
+}
@@ -0,0 +1,152 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.dto.HostelAnalyticsDTO;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.ResourceNotFoundException;
+import com.hostel.hostelfinder.metrics.ServiceMetrics;
+import com.hostel.hostelfinder.repository.HostelCapacityView;
+import com.hostel.hostelfinder.repository.HostelDailyStatsRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.HostelStatsView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Occupancy, ADR and RevPAR from rollup sums. The rollup itself is MySQL-only SQL, so its sums
+ * are stubbed here.
+ */
+class AnalyticsServiceImplTest {
+
+    private final HostelDailyStatsRepository statsRepository = mock(HostelDailyStatsRepository.class);
+    private final HostelRepository hostelRepository = mock(HostelRepository.class);
+    private final AnalyticsServiceImpl service = new AnalyticsServiceImpl(statsRepository, hostelRepository,
+            new ServiceMetrics(new SimpleMeterRegistry()));
+    private final LocalDate from = LocalDate.of(2030, 3, 1);
+    private final LocalDate to = from.plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxHostels", 3);
+        ReflectionTestUtils.setField(service, "maxRangeDays", 31);
+    }
+
+    @Test
+    void aggregatesPerHostelAndOverall() {
+        givenHostels(capacity(1L, 10), capacity(2L, 5), capacity(3L, null));
+        when(statsRepository.sumByHostel(anyCollection(), any(), any())).thenReturn(List.of(
+                sums(1L, null, 40, "20000.00", 3),
+                // Rooms sold before the hostel's capacity was taken down to nothing
+                sums(3L, null, 2, "1000.00", 0)));
+
+        HostelAnalyticsDTO analytics = service.getHostelAnalytics(List.of(3L, 1L, 2L), from, to, false);
+
+        assertThat(analytics.getHostels()).extracting(HostelAnalyticsDTO.Metrics::getHostelId).containsExactly(1L, 2L, 3L);
+        HostelAnalyticsDTO.Metrics busy = analytics.getHostels().get(0);
+        assertThat(busy.getHostelName()).isEqualTo("Hostel 1");
+        assertThat(busy.getRoomNightsAvailable()).isEqualTo(100);
+        assertThat(busy.getOccupancy()).isEqualTo(0.4);
+        assertThat(busy.getAverageDailyRate()).isEqualByComparingTo("500.00");
+        assertThat(busy.getRevPar()).isEqualByComparingTo("200.00");
+        assertThat(busy.getCancelledRooms()).isEqualTo(3);
+
+        // Nothing sold: zero rates rather than a division by zero
+        HostelAnalyticsDTO.Metrics idle = analytics.getHostels().get(1);
+        assertThat(idle.getRoomsSold()).isZero();
+        assertThat(idle.getRoomNightsAvailable()).isEqualTo(50);
+        assertThat(idle.getOccupancy()).isZero();
+        assertThat(idle.getRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(idle.getAverageDailyRate()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(idle.getRevPar()).isEqualByComparingTo(BigDecimal.ZERO);
+
+        // No capacity: occupancy and RevPAR are zero, ADR still follows what was sold
+        HostelAnalyticsDTO.Metrics closed = analytics.getHostels().get(2);
+        assertThat(closed.getRoomNightsAvailable()).isZero();
+        assertThat(closed.getOccupancy()).isZero();
+        assertThat(closed.getRevPar()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(closed.getAverageDailyRate()).isEqualByComparingTo("500.00");
+
+        HostelAnalyticsDTO.Metrics total = analytics.getTotal();
+        assertThat(total.getRoomsSold()).isEqualTo(42);
+        assertThat(total.getRoomNightsAvailable()).isEqualTo(150);
+        assertThat(total.getOccupancy()).isEqualTo(0.28);
+        assertThat(total.getRevenue()).isEqualByComparingTo("21000.00");
+        assertThat(total.getAverageDailyRate()).isEqualByComparingTo("500.00");
+        assertThat(total.getRevPar()).isEqualByComparingTo("140.00");
+        assertThat(total.getCancelledRooms()).isEqualTo(3);
+        assertThat(analytics.getDaily()).isEmpty();
+    }
+
+    @Test
+    void dailyRowsAreMeasuredAgainstOneNightOfCapacity() {
+        givenHostels(capacity(1L, 10), capacity(2L, 5));
+        when(statsRepository.sumByHostel(anyCollection(), any(), any())).thenReturn(List.of());
+        when(statsRepository.sumByDay(anyCollection(), any(), any())).thenReturn(List.of(
+                sums(null, from, 6, "3100.00", 1),
+                sums(null, from.plusDays(1), 0, "0.00", 2)));
+
+        HostelAnalyticsDTO analytics = service.getHostelAnalytics(List.of(1L, 2L), from, to, true);
+
+        assertThat(analytics.getTotal().getRoomsSold()).isZero();
+        assertThat(analytics.getTotal().getOccupancy()).isZero();
+        assertThat(analytics.getDaily()).extracting(HostelAnalyticsDTO.Metrics::getDate).containsExactly(from, from.plusDays(1));
+        HostelAnalyticsDTO.Metrics first = analytics.getDaily().get(0);
+        assertThat(first.getRoomNightsAvailable()).isEqualTo(15);
+        assertThat(first.getOccupancy()).isEqualTo(0.4);
+        assertThat(first.getAverageDailyRate()).isEqualByComparingTo("516.67");
+        assertThat(first.getRevPar()).isEqualByComparingTo("206.67");
+        HostelAnalyticsDTO.Metrics second = analytics.getDaily().get(1);
+        assertThat(second.getAverageDailyRate()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(second.getCancelledRooms()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsUnknownHostelsAndBadRanges() {
+        givenHostels(capacity(1L, 10));
+
+        assertThatThrownBy(() -> service.getHostelAnalytics(List.of(1L, 9L), from, to, false))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Hostels not found: [9]");
+        assertThatThrownBy(() -> service.getHostelAnalytics(List.of(), from, to, false))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getHostelAnalytics(Set.of(1L, 2L, 3L, 4L), from, to, false))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getHostelAnalytics(List.of(1L), from, from, false))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getHostelAnalytics(List.of(1L), from, from.plusDays(32), false))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void givenHostels(HostelCapacityView... hostels) {
+        when(hostelRepository.findCapacityByIdIn(anyCollection())).thenAnswer(invocation -> new ArrayList<>(List.of(hostels)));
+    }
+
+    private static HostelCapacityView capacity(Long id, Integer totalRooms) {
+        return new Capacity(id, "Hostel " + id, totalRooms);
+    }
+
+    private static HostelStatsView sums(Long hostelId, LocalDate stayDate, long roomsSold, String revenue, long cancelledRooms) {
+        return new Sums(hostelId, stayDate, roomsSold, new BigDecimal(revenue), cancelledRooms);
+    }
+
+    private record Capacity(Long getId, String getName, Integer getTotalRooms) implements HostelCapacityView {
+    }
+
+    private record Sums(Long getHostelId, LocalDate getStayDate, Long getRoomsSold, BigDecimal getRevenue,
+                        Long getCancelledRooms) implements HostelStatsView {
+    }
+}
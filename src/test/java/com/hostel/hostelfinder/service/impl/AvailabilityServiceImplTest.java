@@ -0,0 +1,135 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.dto.AvailabilityCalendarDTO;
+import com.hostel.hostelfinder.inventory.RoomInventory;
+import com.hostel.hostelfinder.metrics.ServiceMetrics;
+import com.hostel.hostelfinder.repository.BookedRoomsView;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelCapacityView;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The calendar built from the database while the room inventory is still replaying: stays are
+ * clipped to the window, summed night by night, and overbooked nights show zero free rooms.
+ */
+class AvailabilityServiceImplTest {
+
+    private final HostelRepository hostelRepository = mock(HostelRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final RoomInventory roomInventory = mock(RoomInventory.class);
+    private final AvailabilityServiceImpl service = new AvailabilityServiceImpl(hostelRepository, bookingRepository,
+            roomInventory, new ServiceMetrics(new SimpleMeterRegistry()));
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxHostels", 200);
+        ReflectionTestUtils.setField(service, "maxNights", 90);
+        when(roomInventory.isReady()).thenReturn(false);
+    }
+
+    @Test
+    void staysAreClippedToTheWindowAndOverbookedNightsShowNoneFree() {
+        LocalDate from = today.plusDays(10);
+        LocalDate to = from.plusDays(5);
+        givenHostels(capacity(1L, 4), capacity(2L, 3));
+        givenStays(from, to,
+                // Starts before the window and runs past it: every night
+                stay(1L, from.minusDays(3), to.plusDays(2), 1),
+                // Checks out as the next one checks in: never counted together
+                stay(1L, from.plusDays(1), from.plusDays(3), 2),
+                stay(1L, from.plusDays(3), from.plusDays(4), 2),
+                // Last night of the window only
+                stay(1L, to.minusDays(1), to.plusDays(1), 1),
+                // Ends the night before the window starts
+                stay(1L, from.minusDays(2), from, 4),
+                // More than the hostel has
+                stay(2L, from.plusDays(2), from.plusDays(3), 5));
+
+        AvailabilityCalendarDTO calendar = service.getAvailability(List.of(2L, 1L), null, from, to);
+
+        assertThat(calendar.getHostels()).extracting(AvailabilityCalendarDTO.HostelAvailability::getHostelId)
+                .containsExactly(1L, 2L);
+        assertThat(calendar.getHostels().get(0).getFreeRooms()).containsExactly(3, 1, 1, 1, 2);
+        assertThat(calendar.getHostels().get(1).getFreeRooms()).containsExactly(3, 3, 0, 3, 3);
+    }
+
+    @Test
+    void randomStaysMatchANightByNightCount() {
+        for (long seed = 0; seed < 100; seed++) {
+            Random random = new Random(seed);
+            LocalDate from = today.plusDays(random.nextInt(30));
+            LocalDate to = from.plusDays(1 + random.nextInt(90));
+            int nights = (int) ChronoUnit.DAYS.between(from, to);
+            List<HostelCapacityView> hostels = new ArrayList<>();
+            for (long id = 1; id <= 3; id++) {
+                hostels.add(capacity(id, random.nextInt(12)));
+            }
+            givenHostels(hostels.toArray(new HostelCapacityView[0]));
+            List<BookedRoomsView> stays = new ArrayList<>();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                LocalDate checkIn = from.plusDays(random.nextInt(nights + 20) - 10);
+                stays.add(stay(1L + random.nextInt(3), checkIn, checkIn.plusDays(1 + random.nextInt(15)), 1 + random.nextInt(3)));
+            }
+            givenStays(from, to, stays.toArray(new BookedRoomsView[0]));
+
+            AvailabilityCalendarDTO calendar = service.getAvailability(List.of(1L, 2L, 3L), null, from, to);
+
+            for (AvailabilityCalendarDTO.HostelAvailability row : calendar.getHostels()) {
+                int[] expected = new int[nights];
+                for (int night = 0; night < nights; night++) {
+                    LocalDate date = from.plusDays(night);
+                    int booked = stays.stream()
+                            .filter(stay -> stay.getHostelId().equals(row.getHostelId()))
+                            .filter(stay -> !date.isBefore(stay.getCheckInDate()) && date.isBefore(stay.getCheckOutDate()))
+                            .mapToInt(BookedRoomsView::getNumberOfRooms)
+                            .sum();
+                    expected[night] = Math.max(0, row.getTotalRooms() - booked);
+                }
+                assertThat(row.getFreeRooms()).as("seed %d, hostel %d", seed, row.getHostelId()).containsExactly(expected);
+            }
+        }
+    }
+
+    private void givenHostels(HostelCapacityView... hostels) {
+        when(hostelRepository.findCapacityByIdIn(anyCollection())).thenAnswer(invocation -> new ArrayList<>(List.of(hostels)));
+    }
+
+    // Only what the query would return: stays sharing at least one night with the window
+    private void givenStays(LocalDate from, LocalDate to, BookedRoomsView... stays) {
+        when(bookingRepository.findStaysOverlapping(anyCollection(), any(), any(), any())).thenReturn(List.of(stays).stream()
+                .filter(stay -> stay.getCheckInDate().isBefore(to) && stay.getCheckOutDate().isAfter(from))
+                .toList());
+    }
+
+    private static HostelCapacityView capacity(Long id, int totalRooms) {
+        return new Capacity(id, "Hostel " + id, totalRooms);
+    }
+
+    private static BookedRoomsView stay(Long hostelId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        return new Stay(hostelId, checkIn, checkOut, rooms);
+    }
+
+    private record Capacity(Long getId, String getName, Integer getTotalRooms) implements HostelCapacityView {
+    }
+
+    private record Stay(Long getHostelId, LocalDate getCheckInDate, LocalDate getCheckOutDate, Integer getNumberOfRooms)
+            implements BookedRoomsView {
+    }
+}
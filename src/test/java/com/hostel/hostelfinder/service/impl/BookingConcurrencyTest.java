@@ -0,0 +1,150 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.dto.BookingDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.exception.RoomsUnavailableException;
+import com.hostel.hostelfinder.inventory.RoomInventory;
+import com.hostel.hostelfinder.repository.BookedRoomsView;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.UserRepository;
+import com.hostel.hostelfinder.service.BookingService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads booking the same hostel through the service at once. Every night must end up
+ * with no more rooms than the hostel has, and the in-memory inventory must agree with the
+ * bookings that were actually stored.
+ */
+@Slf4j
+class BookingConcurrencyTest extends IntegrationTest {
+
+    private static final int TOTAL_ROOMS = 20;
+    private static final int NIGHTS = 10;
+    private static final int ATTEMPTS = 1_000;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomInventory roomInventory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 64})
+    void neverOverbooksOneHostel(int threads) throws Exception {
+        Hostel hostel = hostel();
+        User user = user();
+        LocalDate firstNight = LocalDate.now().plusDays(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            workers.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                while (next.getAndIncrement() < ATTEMPTS) {
+                    LocalDate checkIn = firstNight.plusDays(random.nextInt(NIGHTS));
+                    int nights = 1 + random.nextInt(3);
+                    try {
+                        bookingService.createBooking(booking(user, hostel, checkIn,
+                                min(checkIn.plusDays(nights), firstNight.plusDays(NIGHTS)), 1 + random.nextInt(2)));
+                        accepted.incrementAndGet();
+                    } catch (RoomsUnavailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        pool.shutdown();
+
+        log.info("{} threads: {} attempts in {} ms, {} attempts/s, {} accepted ({} bookings/s), {} rejected",
+                threads, ATTEMPTS, Math.round(seconds * 1000), Math.round(ATTEMPTS / seconds),
+                accepted.get(), Math.round(accepted.get() / seconds), rejected.get());
+
+        assertThat(accepted.get() + rejected.get()).isEqualTo(ATTEMPTS);
+        assertThat(accepted.get()).isPositive();
+        int[] stored = new int[NIGHTS];
+        for (BookedRoomsView stay : bookingRepository.findStaysOverlapping(List.of(hostel.getId()), firstNight,
+                firstNight.plusDays(NIGHTS), RoomInventory.ACTIVE_STATUSES)) {
+            for (LocalDate night = stay.getCheckInDate(); night.isBefore(stay.getCheckOutDate()); night = night.plusDays(1)) {
+                stored[(int) (night.toEpochDay() - firstNight.toEpochDay())] += stay.getNumberOfRooms();
+            }
+        }
+        int[] inMemory = roomInventory.bookedNights(List.of(hostel.getId()), firstNight, firstNight.plusDays(NIGHTS))
+                .get(hostel.getId());
+        for (int night = 0; night < NIGHTS; night++) {
+            assertThat(stored[night]).as("rooms booked on night %d", night).isLessThanOrEqualTo(TOTAL_ROOMS);
+        }
+        assertThat(inMemory).containsExactly(stored);
+    }
+
+    private Hostel hostel() {
+        Hostel hostel = new Hostel();
+        hostel.setName("Contended Hostel");
+        hostel.setAddress("1 Main Road, Indiranagar, Bengaluru");
+        hostel.setPincode("560038");
+        hostel.setPricePerNight(new BigDecimal("500.00"));
+        hostel.setTotalRooms(TOTAL_ROOMS);
+        hostel.setAvailableRooms(TOTAL_ROOMS);
+        return hostelRepository.save(hostel);
+    }
+
+    private User user() {
+        User user = new User();
+        user.setFullName("Load Tester");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        return userRepository.save(user);
+    }
+
+    private static BookingDTO booking(User user, Hostel hostel, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        BookingDTO dto = new BookingDTO();
+        dto.setUserId(user.getId());
+        dto.setHostelId(hostel.getId());
+        dto.setCheckInDate(checkIn);
+        dto.setCheckOutDate(checkOut);
+        dto.setNumberOfRooms(rooms);
+        return dto;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
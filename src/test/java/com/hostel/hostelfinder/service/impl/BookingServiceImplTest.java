@@ -0,0 +1,143 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.dto.BookingDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.exception.RoomsUnavailableException;
+import com.hostel.hostelfinder.exception.ServiceUnavailableException;
+import com.hostel.hostelfinder.inventory.RoomInventory;
+import com.hostel.hostelfinder.repository.BookingRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.UserRepository;
+import com.hostel.hostelfinder.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookingServiceImplTest extends IntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomInventory roomInventory;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void bookingNextMonthLeavesTonightBookable() {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Two rooms", TestFixtures.uniquePincode(), 2));
+        User user = userRepository.save(TestFixtures.user());
+
+        bookingService.createBooking(booking(user, hostel, today.plusDays(30), today.plusDays(32), 2));
+        assertThat(availableRooms(hostel)).isEqualTo(2);
+
+        BookingDTO tonight = bookingService.createBooking(booking(user, hostel, today, today.plusDays(1), 2));
+        assertThat(availableRooms(hostel)).isZero();
+
+        assertThatThrownBy(() -> bookingService.createBooking(booking(user, hostel, today, today.plusDays(1), 1)))
+                .isInstanceOf(RoomsUnavailableException.class);
+        assertThatThrownBy(() -> bookingService.createBooking(booking(user, hostel, today.plusDays(31), today.plusDays(33), 1)))
+                .isInstanceOf(RoomsUnavailableException.class);
+
+        bookingService.cancelBooking(tonight.getId());
+        assertThat(availableRooms(hostel)).isEqualTo(2);
+        bookingService.createBooking(booking(user, hostel, today, today.plusDays(1), 1));
+        assertThat(availableRooms(hostel)).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsStaysWithoutRoomsOrNights() {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("One room", TestFixtures.uniquePincode(), 1));
+        User user = userRepository.save(TestFixtures.user());
+        bookingService.createBooking(booking(user, hostel, today, today.plusDays(1), 1));
+
+        // A negative count would otherwise free the room booked above
+        assertThatThrownBy(() -> bookingService.createBooking(booking(user, hostel, today, today.plusDays(1), -1)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> bookingService.createBooking(booking(user, hostel, today, today.plusDays(1), 0)))
+                .isInstanceOf(BadRequestException.class);
+        BookingDTO noRooms = booking(user, hostel, today, today.plusDays(1), 1);
+        noRooms.setNumberOfRooms(null);
+        assertThatThrownBy(() -> bookingService.createBooking(noRooms))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> bookingService.createBooking(booking(user, hostel, today.plusDays(3), today.plusDays(3), 1)))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThatThrownBy(() -> bookingService.createBooking(booking(user, hostel, today, today.plusDays(1), 1)))
+                .isInstanceOf(RoomsUnavailableException.class);
+        assertThat(availableRooms(hostel)).isZero();
+    }
+
+    @Test
+    void requestWithoutRoomCountIsABadRequest() throws Exception {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Validated", TestFixtures.uniquePincode(), 1));
+        User user = userRepository.save(TestFixtures.user());
+        String body = "{\"userId\":" + user.getId() + ",\"hostelId\":" + hostel.getId()
+                + ",\"checkInDate\":\"" + today + "\",\"checkOutDate\":\"" + today.plusDays(1) + "\"}";
+
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.numberOfRooms").exists());
+    }
+
+    @Test
+    void bookingsWaitForTheInventoryToLoad() throws Exception {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Still loading", TestFixtures.uniquePincode(), 1));
+        User user = userRepository.save(TestFixtures.user());
+        BookingDTO dto = booking(user, hostel, today, today.plusDays(1), 1);
+        long bookings = bookingRepository.count();
+
+        ReflectionTestUtils.setField(roomInventory, "ready", false);
+        try {
+            assertThatThrownBy(() -> bookingService.createBooking(dto))
+                    .isInstanceOf(ServiceUnavailableException.class);
+            mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            ReflectionTestUtils.setField(roomInventory, "ready", true);
+        }
+        assertThat(bookingRepository.count()).isEqualTo(bookings);
+
+        bookingService.createBooking(dto);
+        assertThat(availableRooms(hostel)).isZero();
+    }
+
+    private int availableRooms(Hostel hostel) {
+        return hostelRepository.findById(hostel.getId()).orElseThrow().getAvailableRooms();
+    }
+
+    private static BookingDTO booking(User user, Hostel hostel, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        BookingDTO dto = new BookingDTO();
+        dto.setUserId(user.getId());
+        dto.setHostelId(hostel.getId());
+        dto.setCheckInDate(checkIn);
+        dto.setCheckOutDate(checkOut);
+        dto.setNumberOfRooms(rooms);
+        return dto;
+    }
+}
@@ -0,0 +1,160 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.dto.ImportFormat;
+import com.hostel.hostelfinder.dto.ImportReportDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.exception.BadRequestException;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HostelImportServiceImplTest extends IntegrationTest {
+
+    private static final String HEADER = "name,description,address,pincode,pricePerNight,totalRooms,availableRooms,facilities,images";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private HostelRepository hostelRepository;
+
+    private HostelImportServiceImpl importService;
+    private String pincode;
+
+    // Small batches, so a few rows already span several of them
+    @BeforeEach
+    void setUp() {
+        importService = new HostelImportServiceImpl(jdbcTemplate, transactionTemplate, objectMapper, eventPublisher, 3);
+        pincode = TestFixtures.uniquePincode();
+    }
+
+    @Test
+    void parsesQuotedAndMultiValuedCsvColumns() throws IOException {
+        ImportReportDTO report = importCsv(HEADER,
+                "\"Hill View, Annexe\",\"The \"\"quiet\"\" one\",\"2 Ridge Road, Shimla\"," + pincode + ",750.50,8,,wifi | laundry|parking,",
+                "",
+                "Plain," + ",," + pincode + ",0,2,1,,https://img.example/1.jpg");
+
+        assertThat(report.getRowsRead()).isEqualTo(2);
+        assertThat(report.getRowsImported()).isEqualTo(2);
+        assertThat(report.getErrors()).isEmpty();
+
+        Hostel annexe = hostel("Hill View, Annexe");
+        assertThat(annexe.getDescription()).isEqualTo("The \"quiet\" one");
+        assertThat(annexe.getAddress()).isEqualTo("2 Ridge Road, Shimla");
+        assertThat(annexe.getPricePerNight()).isEqualByComparingTo(new BigDecimal("750.50"));
+        // No availableRooms column value: every room is free
+        assertThat(annexe.getAvailableRooms()).isEqualTo(8);
+        assertThat(values("hostel_facilities", "facilities", annexe)).containsExactlyInAnyOrder("wifi", "laundry", "parking");
+        assertThat(values("hostel_images", "images", annexe)).isEmpty();
+
+        Hostel plain = hostel("Plain");
+        assertThat(plain.getDescription()).isNull();
+        assertThat(plain.getAvailableRooms()).isEqualTo(1);
+        assertThat(values("hostel_images", "images", plain)).containsExactly("https://img.example/1.jpg");
+    }
+
+    @Test
+    void reportsInvalidRowsByLineAndImportsTheRest() throws IOException {
+        ImportReportDTO report = importCsv(HEADER,
+                "Good One,,," + pincode + ",500,4,,,",
+                ",,," + pincode + ",500,4,,,",
+                "No Pincode,,,,500,4,,,",
+                "Free Lunch,,," + pincode + ",-1,4,,,",
+                "No Rooms,,," + pincode + ",500,0,,,",
+                "Overbooked,,," + pincode + ",500,4,5,,",
+                "Cheap,,," + pincode + ",cheap,4,,,",
+                "\"Unterminated,,," + pincode + ",500,4,,,",
+                "Good Two,,," + pincode + ",500,4,,,");
+
+        assertThat(report.getRowsRead()).isEqualTo(9);
+        assertThat(report.getRowsImported()).isEqualTo(2);
+        assertThat(report.getRowsFailed()).isEqualTo(7);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.RowError::getLine)
+                .containsExactly(3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.RowError::getMessage)
+                .startsWith("name is required", "pincode is required", "pricePerNight must be zero or more",
+                        "totalRooms must be positive", "availableRooms must be between 0 and totalRooms");
+        assertThat(report.getErrors().get(6).getMessage()).isEqualTo("Unterminated quoted field");
+        assertThat(hostelRepository.findByPincode(pincode)).extracting(Hostel::getName)
+                .containsExactlyInAnyOrder("Good One", "Good Two");
+    }
+
+    @Test
+    void rowRejectedByTheDatabaseFailsAlone() throws IOException {
+        String tooLong = "x".repeat(300);
+        ImportReportDTO report = importNdjson(
+                row("Before"),
+                row(tooLong),
+                row("After"),
+                "{\"name\": ",
+                row("Next Batch"));
+
+        assertThat(report.getRowsImported()).isEqualTo(3);
+        assertThat(report.getRowsFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.RowError::getLine).containsExactly(2L, 4L);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("Rejected by database: ");
+        assertThat(report.getErrors().get(1).getMessage()).startsWith("Malformed JSON: ");
+        assertThat(hostelRepository.findByPincode(pincode)).extracting(Hostel::getName)
+                .containsExactlyInAnyOrder("Before", "After", "Next Batch");
+    }
+
+    @Test
+    void csvWithoutRequiredColumnsIsABadRequest() {
+        assertThatThrownBy(() -> importCsv("name,pincode,pricePerNight", "Header Only," + pincode + ",500"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("CSV header is missing column totalRooms");
+        assertThatThrownBy(() -> importCsv())
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private ImportReportDTO importCsv(String... lines) throws IOException {
+        return importService.importHostels(stream(lines), ImportFormat.CSV);
+    }
+
+    private ImportReportDTO importNdjson(String... lines) throws IOException {
+        return importService.importHostels(stream(lines), ImportFormat.NDJSON);
+    }
+
+    private String row(String name) {
+        return "{\"name\":\"" + name + "\",\"pincode\":\"" + pincode + "\",\"pricePerNight\":500,\"totalRooms\":4,"
+                + "\"facilities\":[\"wifi\"]}";
+    }
+
+    private Hostel hostel(String name) {
+        return hostelRepository.findByPincode(pincode).stream()
+                .filter(hostel -> hostel.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<String> values(String table, String column, Hostel hostel) {
+        return jdbcTemplate.queryForList("SELECT " + column + " FROM " + table + " WHERE hostel_id = ?",
+                String.class, hostel.getId());
+    }
+
+    private static ByteArrayInputStream stream(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
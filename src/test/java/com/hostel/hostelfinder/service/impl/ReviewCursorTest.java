@@ -0,0 +1,50 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReviewCursorTest {
+
+    @Test
+    void roundTripsTimestampAndId() {
+        for (LocalDateTime createdAt : new LocalDateTime[]{
+                LocalDateTime.of(2024, 3, 1, 9, 30),
+                LocalDateTime.of(2024, 3, 1, 9, 30, 0, 123_456_789),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 1_000)}) {
+            String token = ReviewCursor.encode(createdAt, 42L);
+            assertThat(token).doesNotContain("=", "+", "/");
+
+            ReviewCursor cursor = ReviewCursor.decode(token);
+            assertThat(cursor.getCreatedAt()).isEqualTo(createdAt);
+            assertThat(cursor.getId()).isEqualTo(42L);
+        }
+    }
+
+    @Test
+    void missingTokenStartsAfterEveryReview() {
+        assertThat(ReviewCursor.decode(null).getId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(ReviewCursor.decode(" ").getCreatedAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void malformedTokensAreBadRequests() {
+        for (String token : new String[]{"not base64!", encoded("2024-03-01T09:30"), encoded("yesterday|7"),
+                encoded("2024-03-01T09:30|seven"), encoded("|7")}) {
+            assertThatThrownBy(() -> ReviewCursor.decode(token))
+                    .as(token)
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package com.hostel.hostelfinder.service.impl;
+
+import com.hostel.hostelfinder.IntegrationTest;
+import com.hostel.hostelfinder.TestFixtures;
+import com.hostel.hostelfinder.dto.CursorPageDTO;
+import com.hostel.hostelfinder.dto.ReviewDTO;
+import com.hostel.hostelfinder.entity.Hostel;
+import com.hostel.hostelfinder.entity.HostelRatingStats;
+import com.hostel.hostelfinder.entity.Review;
+import com.hostel.hostelfinder.entity.User;
+import com.hostel.hostelfinder.repository.HostelRatingStatsRepository;
+import com.hostel.hostelfinder.repository.HostelRepository;
+import com.hostel.hostelfinder.repository.ReviewRepository;
+import com.hostel.hostelfinder.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReviewServiceImplTest extends IntegrationTest {
+
+    @Autowired
+    private ReviewServiceImpl reviewService;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private HostelRatingStatsRepository ratingStatsRepository;
+    @Autowired
+    private HostelRepository hostelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuildsMissingRatingAggregatesAtStartup() {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Reviewed", TestFixtures.uniquePincode(), 10));
+        User user = userRepository.save(TestFixtures.user());
+        // Written straight to the table, as on a database that predates the aggregates
+        reviewRepository.save(review(user, hostel, 5));
+        reviewRepository.save(review(user, hostel, 5));
+        reviewRepository.save(review(user, hostel, 4));
+        reviewRepository.save(review(user, hostel, 3));
+        ratingStatsRepository.deleteAllInBatch();
+
+        // Through the bean, as the ApplicationReadyEvent listener is invoked
+        reviewService.rebuildIfMissing();
+
+        HostelRatingStats stats = ratingStatsRepository.findById(hostel.getId()).orElseThrow();
+        assertThat(stats.getRatingCount()).isEqualTo(4);
+        assertThat(stats.getRatingSum()).isEqualTo(17);
+        assertThat(stats.getStars(5)).isEqualTo(2);
+        assertThat(stats.getStars(4)).isEqualTo(1);
+        assertThat(stats.getStars(1)).isZero();
+        assertThat(stats.getAverage()).isEqualTo(4.25);
+        Hostel updated = hostelRepository.findById(hostel.getId()).orElseThrow();
+        assertThat(updated.getRating()).isEqualTo(4.25);
+        assertThat(updated.getTotalReviews()).isEqualTo(4);
+    }
+
+    @Test
+    void feedPagesThroughEqualTimestampsById() {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Busy weekend", TestFixtures.uniquePincode(), 10));
+        User user = userRepository.save(TestFixtures.user());
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            reviews.add(reviewRepository.save(review(user, hostel, 1 + i % 5)));
+        }
+        // Five reviews share one timestamp, so only the id tells them apart; the other two are older
+        LocalDateTime sameMoment = LocalDateTime.of(2024, 6, 1, 12, 0);
+        for (int i = 0; i < reviews.size(); i++) {
+            LocalDateTime createdAt = i < 2 ? sameMoment.minusDays(2 - i) : sameMoment;
+            jdbcTemplate.update("UPDATE reviews SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt), reviews.get(i).getId());
+        }
+        // Newest first: the shared timestamp by descending id, then the two older ones
+        List<Long> expected = new ArrayList<>();
+        for (int i = reviews.size() - 1; i >= 0; i--) {
+            expected.add(reviews.get(i).getId());
+        }
+
+        for (int size = 1; size <= 8; size++) {
+            List<Long> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPageDTO<ReviewDTO> page = reviewService.getHostelReviews(hostel.getId(), cursor, size);
+                assertThat(page.getItems().size()).isLessThanOrEqualTo(size);
+                page.getItems().forEach(review -> seen.add(review.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            assertThat(seen).as("page size %d", size).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void malformedFeedCursorIsABadRequest() throws Exception {
+        Hostel hostel = hostelRepository.save(TestFixtures.hostel("Cursor", TestFixtures.uniquePincode(), 10));
+
+        mockMvc.perform(get("/api/reviews/hostel/" + hostel.getId()).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    private static Review review(User user, Hostel hostel, int rating) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setHostel(hostel);
+        review.setRating(rating);
+        review.setComment("Stayed here");
+        return review;
+    }
+}